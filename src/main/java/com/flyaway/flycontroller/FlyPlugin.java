@@ -1,32 +1,53 @@
 package com.flyaway.flycontroller;
 
 import com.flyaway.flycontroller.managers.*;
+import com.flyaway.flycontroller.placeholders.FlyPlaceholderExpansion;
+import com.flyaway.flycontroller.scheduler.TaskScheduler;
 
 import org.bukkit.event.Listener;
 import org.bukkit.plugin.java.JavaPlugin;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 public class FlyPlugin extends JavaPlugin implements Listener {
+    private TaskScheduler taskScheduler;
     private EconomyManager economyManager;
     private DataManager dataManager;
     private ConfigManager configManager;
+    private WorldManager worldManager;
     private PlayerManager playerManager;
     private FlightManager flightManager;
+    private CombatManager combatManager;
+    private LeaderboardManager leaderboardManager;
+    private MigrationManager migrationManager;
 
     @Override
     public void onEnable() {
-        this.dataManager = new DataManager(this);
+        this.taskScheduler = TaskScheduler.create(this);
         this.configManager = new ConfigManager(this);
         configManager.loadConfig();
+        this.worldManager = new WorldManager(this);
+        this.dataManager = new DataManager(this);
+        dataManager.startFlushTask(configManager.getFlushInterval());
         this.playerManager = new PlayerManager(this);
         this.economyManager = new EconomyManager(this);
+        this.leaderboardManager = new LeaderboardManager(this);
+        leaderboardManager.rebuild();
         this.flightManager = new FlightManager(this);
+        this.combatManager = new CombatManager(this);
+        this.migrationManager = new MigrationManager(this);
 
         playerManager.registerListeners();
         playerManager.registerCommands();
         flightManager.startTasks();
 
+        if (getServer().getPluginManager().isPluginEnabled("PlaceholderAPI")) {
+            new FlyPlaceholderExpansion(this).register();
+            getLogger().info("Плейсхолдеры PlaceholderAPI зарегистрированы");
+        }
+
         List<String> worlds = configManager.getAllowedWorlds();
         String loadedWorlds = worlds.isEmpty() ? "Все" : String.join(", ", worlds);
         getLogger().info("Разрешённые миры: " + loadedWorlds);
@@ -34,11 +55,25 @@ public class FlyPlugin extends JavaPlugin implements Listener {
         getLogger().info("Плагин успешно запущен!");
     }
 
-    public void reloadConfiguration() {
-        configManager.reloadConfig();
-        economyManager.reload();
-        getLogger().info("Плагин перезагружен!");
-
+    // Конфиг разбирается асинхронно, менеджеры перезапускаются уже в глобальном потоке
+    public CompletableFuture<Void> reloadConfiguration() {
+        CompletableFuture<Void> applied = new CompletableFuture<>();
+        configManager.reloadConfig().whenComplete((ignored, error) -> taskScheduler.runGlobal(() -> {
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                getLogger().warning("Не удалось перезагрузить конфиг: " + cause.getMessage());
+                applied.completeExceptionally(cause);
+                return;
+            }
+            dataManager.startFlushTask(configManager.getFlushInterval());
+            worldManager.reload();
+            economyManager.reload();
+            playerManager.reload();
+            flightManager.reload();
+            getLogger().info("Плагин перезагружен!");
+            applied.complete(null);
+        }));
+        return applied;
     }
 
     public ConfigManager getConfigManager() {
@@ -48,9 +83,19 @@ public class FlyPlugin extends JavaPlugin implements Listener {
     @Override
     public void onDisable() {
         flightManager.disable();
+        migrationManager.shutdown();
+        dataManager.shutdown(configManager.getShutdownTimeout());
         getLogger().info("Плагин выключен!");
     }
 
+    public WorldManager getWorldManager() {
+        return worldManager;
+    }
+
+    public TaskScheduler getTaskScheduler() {
+        return taskScheduler;
+    }
+
     public DataManager getDataManager() {
         return dataManager;
     }
@@ -63,7 +108,19 @@ public class FlyPlugin extends JavaPlugin implements Listener {
         return flightManager;
     }
 
+    public CombatManager getCombatManager() {
+        return combatManager;
+    }
+
+    public LeaderboardManager getLeaderboardManager() {
+        return leaderboardManager;
+    }
+
     public EconomyManager getEconomyManager() {
         return economyManager;
     }
+
+    public MigrationManager getMigrationManager() {
+        return migrationManager;
+    }
 }
@@ -3,6 +3,7 @@ package com.flyaway.flycontroller.commands;
 import com.flyaway.flycontroller.FlyPlugin;
 import com.flyaway.flycontroller.managers.ConfigManager;
 import com.flyaway.flycontroller.managers.PlayerManager;
+import com.flyaway.flycontroller.managers.WorldManager;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
 import org.bukkit.command.CommandSender;
@@ -17,33 +18,35 @@ public class FlySpeedCommand implements CommandExecutor, TabCompleter {
     private final FlyPlugin plugin;
     private final ConfigManager configManager;
     private final PlayerManager playerManager;
+    private final WorldManager worldManager;
 
     public FlySpeedCommand(FlyPlugin plugin) {
         this.plugin = plugin;
         this.configManager = plugin.getConfigManager();
         this.playerManager = plugin.getPlayerManager();
+        this.worldManager = plugin.getWorldManager();
     }
 
     @Override
     public boolean onCommand(CommandSender sender, Command command, String label, String[] args) {
         if (!(sender instanceof Player player)) {
-            playerManager.sendMessage(sender, configManager.getMessage("only-players"));
+            playerManager.send(sender, "only-players");
             return true;
         }
 
         if (!player.hasPermission("flycontroller.flyspeed")) {
-            playerManager.sendMessage(player, configManager.getMessage("no-permission"));
+            playerManager.send(player, "no-permission");
             return true;
         }
 
-        if (!configManager.isWorldAllowed(player.getWorld())) {
-            playerManager.sendMessage(player, configManager.getMessage("flyspeed-not-allowed-world"));
+        if (!worldManager.isWorldAllowed(player.getWorld())) {
+            playerManager.send(player, "flyspeed-not-allowed-world");
             return true;
         }
 
         if (args.length == 0) {
             Map<String, String> placeholders = Map.of("speeds", getAvailableSpeedsString());
-            playerManager.sendMessage(player, configManager.getMessage("flyspeed-usage", placeholders));
+            playerManager.send(player, "flyspeed-usage", placeholders);
             return true;
         }
 
@@ -57,25 +60,26 @@ public class FlySpeedCommand implements CommandExecutor, TabCompleter {
                         "speed", String.valueOf(speed),
                         "speeds", getAvailableSpeedsString()
                 );
-                playerManager.sendMessage(player, configManager.getMessage("flyspeed-not-available", placeholders));
+                playerManager.send(player, "flyspeed-not-available", placeholders);
                 return true;
             }
 
             float flySpeed = availableSpeeds.get(speed);
             player.setFlySpeed(flySpeed);
+            plugin.getFlightManager().updateSpeedLevel(player, speed);
 
             String speedName = getSpeedName(speed);
             Map<String, String> placeholders = Map.of(
                     "speed_name", speedName,
                     "speed_level", String.valueOf(speed)
             );
-            playerManager.sendMessage(player, configManager.getMessage("flyspeed-set", placeholders));
+            playerManager.send(player, "flyspeed-set", placeholders);
 
         } catch (NumberFormatException e) {
             Map<String, String> placeholders = Map.of(
                     "speeds", getAvailableSpeedsString()
             );
-            playerManager.sendMessage(player, configManager.getMessage("flyspeed-invalid-number", placeholders));
+            playerManager.send(player, "flyspeed-invalid-number", placeholders);
         }
 
         return true;
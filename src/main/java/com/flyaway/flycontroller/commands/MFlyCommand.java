@@ -3,11 +3,15 @@ package com.flyaway.flycontroller.commands;
 import com.flyaway.flycontroller.FlyPlugin;
 import com.flyaway.flycontroller.managers.ConfigManager;
 import com.flyaway.flycontroller.managers.FlightManager;
+import com.flyaway.flycontroller.managers.LeaderboardManager;
 import com.flyaway.flycontroller.managers.PlayerManager;
 import com.flyaway.flycontroller.models.FlightData;
+import com.flyaway.flycontroller.models.FlightSession;
 import com.flyaway.flycontroller.models.FlightTier;
+import com.flyaway.flycontroller.utils.LeaderboardIndex;
 import com.flyaway.flycontroller.utils.NumberFormatter;
 import com.flyaway.flycontroller.utils.TimeFormatter;
+import org.bukkit.Bukkit;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
 import org.bukkit.command.CommandSender;
@@ -31,13 +35,25 @@ public class MFlyCommand implements CommandExecutor, TabCompleter {
 
     @Override
     public boolean onCommand(CommandSender sender, Command command, String label, String[] args) {
-        if (!(sender instanceof Player player)) {
-            playerManager.sendMessage(sender, configManager.getMessage("only-players"));
+        if (!sender.hasPermission("flycontroller.mfly")) {
+            playerManager.send(sender, "no-permission");
             return true;
         }
 
-        if (!player.hasPermission("flycontroller.mfly")) {
-            playerManager.sendMessage(player, configManager.getMessage("no-permission"));
+        // Команды, доступные и из консоли
+        if (args.length > 0) {
+            switch (args[0].toLowerCase()) {
+                case "top":
+                    return handleTop(sender, args);
+                case "reload":
+                    return handleReload(sender);
+                case "migrate":
+                    return handleMigrate(sender, args);
+            }
+        }
+
+        if (!(sender instanceof Player player)) {
+            playerManager.send(sender, "only-players");
             return true;
         }
 
@@ -68,9 +84,6 @@ public class MFlyCommand implements CommandExecutor, TabCompleter {
                 flightManager.continueFlight(player);
                 break;
 
-            case "reload":
-                return handleReload(player);
-
             default:
                 showCommandHelp(player);
                 break;
@@ -81,40 +94,114 @@ public class MFlyCommand implements CommandExecutor, TabCompleter {
 
     private boolean handleDeposit(Player player, String[] args) {
         if (args.length < 2) {
-            playerManager.sendMessage(player, configManager.getMessage("mfly-deposit-usage"));
+            playerManager.send(player, "mfly-deposit-usage");
             return true;
         }
 
         try {
             double amount = Double.parseDouble(args[1]);
             if (amount <= 0) {
-                playerManager.sendMessage(player, configManager.getMessage("amount-must-be-positive"));
+                playerManager.send(player, "amount-must-be-positive");
                 return true;
             }
             flightManager.depositMoney(player, amount);
         } catch (NumberFormatException e) {
-            playerManager.sendMessage(player, configManager.getMessage("amount-must-be-number"));
+            playerManager.send(player, "amount-must-be-number");
         }
         return true;
     }
 
+    private boolean handleTop(CommandSender sender, String[] args) {
+        LeaderboardManager leaderboardManager = plugin.getLeaderboardManager();
+        int pages = leaderboardManager.getPageCount();
+        int page = 1;
+
+        if (args.length >= 2) {
+            try {
+                page = Math.max(1, Math.min(pages, Integer.parseInt(args[1])));
+            } catch (NumberFormatException e) {
+                playerManager.send(sender, "mfly-top-usage");
+                return true;
+            }
+        }
+
+        List<LeaderboardIndex.Entry> entries = leaderboardManager.getPage(page);
+        if (entries.isEmpty()) {
+            playerManager.send(sender, "mfly-top-empty");
+            return true;
+        }
+
+        String currencySymbol = plugin.getEconomyManager().getCurrencySymbol();
+        StringBuilder topMessage = new StringBuilder(configManager.getMessage("mfly-top-header", Map.of(
+                "page", String.valueOf(page),
+                "pages", String.valueOf(pages)
+        )));
+
+        int rank = (page - 1) * LeaderboardManager.PAGE_SIZE;
+        for (LeaderboardIndex.Entry entry : entries) {
+            String name = Bukkit.getOfflinePlayer(entry.getPlayerId()).getName();
+            topMessage.append("\n").append(configManager.getMessage("mfly-top-line", Map.of(
+                    "rank", String.valueOf(++rank),
+                    "player", name != null ? name : entry.getPlayerId().toString(),
+                    "balance", NumberFormatter.formatWithCurrency(entry.getBalance(), currencySymbol),
+                    "level", String.valueOf(entry.getLevel())
+            )));
+        }
+
+        int ownRank = sender instanceof Player player ? leaderboardManager.getRank(player.getUniqueId()) : 0;
+        if (ownRank > 0) {
+            topMessage.append("\n").append(configManager.getMessage("mfly-top-self",
+                    Map.of("rank", String.valueOf(ownRank))));
+        }
+
+        playerManager.sendMessage(sender, topMessage.toString());
+        return true;
+    }
+
     private boolean handleReload(CommandSender sender) {
         if (sender.hasPermission("flycontroller.admin")) {
-            plugin.reloadConfiguration();
-            playerManager.sendMessage(sender, configManager.getMessage("config-reloaded"));
+            plugin.reloadConfiguration().whenComplete((ignored, error) -> {
+                Runnable reply = () -> {
+                    if (error == null) {
+                        playerManager.send(sender, "config-reloaded");
+                    } else {
+                        playerManager.send(sender, "config-reload-failed", Map.of("error", String.valueOf(error.getMessage())));
+                    }
+                };
+                if (sender instanceof Player player) {
+                    plugin.getTaskScheduler().runForEntity(player, reply);
+                } else {
+                    reply.run();
+                }
+            });
         } else {
-            playerManager.sendMessage(sender, configManager.getMessage("no-permission"));
+            playerManager.send(sender, "no-permission");
+        }
+        return true;
+    }
+
+    private boolean handleMigrate(CommandSender sender, String[] args) {
+        if (!sender.hasPermission("flycontroller.admin")) {
+            playerManager.send(sender, "no-permission");
+            return true;
         }
+
+        if (args.length < 2) {
+            playerManager.send(sender, "migrate-usage");
+            return true;
+        }
+
+        plugin.getMigrationManager().startMigration(sender, args[1]);
         return true;
     }
 
     private void showFlightInfo(Player player) {
-        UUID playerId = player.getUniqueId();
-        FlightData data = plugin.getDataManager().loadPlayerData(playerId);
+        FlightSession session = flightManager.getSession(player);
+        FlightData data = session.getData();
         String currencySymbol = plugin.getEconomyManager().getCurrencySymbol();
         int currentLevel = data.getMaxUnlockedLevel();
 
-        FlightTimeInfo timeInfo = getFlightTimeInfo(player, data, playerId);
+        FlightTimeInfo timeInfo = getFlightTimeInfo(session, data);
 
         StringBuilder infoMessage = buildBaseInfo(data, currencySymbol, currentLevel, timeInfo);
 
@@ -137,15 +224,16 @@ public class MFlyCommand implements CommandExecutor, TabCompleter {
         }
     }
 
-    private FlightTimeInfo getFlightTimeInfo(Player player, FlightData data, UUID playerId) {
-        long remainingTime = flightManager.getRemainingFlightTime(player);
-        long pausedTime = flightManager.getPausedFlightTime(playerId);
+    private FlightTimeInfo getFlightTimeInfo(FlightSession session, FlightData data) {
+        long now = System.currentTimeMillis();
+        long remainingTime = session.getRemainingTime(now);
+        long pausedTime = session.getPausedTime();
 
         if (pausedTime <= 0) {
             pausedTime = data.getPausedTime();
         }
 
-        long cooldownTime = Math.max(0, data.getCooldownEnd() - System.currentTimeMillis());
+        long cooldownTime = Math.max(0, data.getCooldownEnd() - now);
 
         return new FlightTimeInfo(remainingTime, pausedTime, cooldownTime);
     }
@@ -172,9 +260,9 @@ public class MFlyCommand implements CommandExecutor, TabCompleter {
     private void appendLevelsInfo(StringBuilder infoMessage, FlightData data, String currencySymbol, int currentLevel) {
         infoMessage.append("\n").append(configManager.getMessage("mfly-info-levels"));
 
-        configManager.getFlightTiers().values().stream()
-                .sorted(Comparator.comparingInt(FlightTier::getLevel))
-                .forEach(tier -> appendTierInfo(infoMessage, data, currencySymbol, currentLevel, tier));
+        for (FlightTier tier : configManager.getTierTable().getTiersByLevel()) {
+            appendTierInfo(infoMessage, data, currencySymbol, currentLevel, tier);
+        }
     }
 
     private void appendTierInfo(StringBuilder infoMessage, FlightData data, String currencySymbol, int currentLevel, FlightTier tier) {
@@ -246,6 +334,7 @@ public class MFlyCommand implements CommandExecutor, TabCompleter {
         String helpMessage = configManager.getMessage("mfly-help");
         if (player.hasPermission("flycontroller.admin")) {
             helpMessage += "\n" + configManager.getMessage("mfly-help-reload");
+            helpMessage += "\n" + configManager.getMessage("mfly-help-migrate");
         }
         playerManager.sendMessage(player, helpMessage);
     }
@@ -253,7 +342,7 @@ public class MFlyCommand implements CommandExecutor, TabCompleter {
     private double getAmountForNextLevel(FlightData data) {
         int nextLevel = data.getMaxUnlockedLevel() + 1;
 
-        FlightTier nextTier = configManager.getFlightTiers().get(nextLevel);
+        FlightTier nextTier = configManager.getTierTable().getTier(nextLevel);
         if (nextTier == null) {
             return 0;
         }
@@ -279,9 +368,11 @@ public class MFlyCommand implements CommandExecutor, TabCompleter {
             commands.add("deposit");
             commands.add("activate");
             commands.add("continue");
+            commands.add("top");
 
             if (sender.hasPermission("flycontroller.admin")) {
                 commands.add("reload");
+                commands.add("migrate");
             }
 
             String input = args[0].toLowerCase();
@@ -292,6 +383,11 @@ public class MFlyCommand implements CommandExecutor, TabCompleter {
             }
         } else if (args.length == 2 && "deposit".equalsIgnoreCase(args[0])) {
             completions.add("<amount>");
+        } else if (args.length == 2 && "top".equalsIgnoreCase(args[0])) {
+            completions.add("<page>");
+        } else if (args.length == 2 && "migrate".equalsIgnoreCase(args[0]) && sender.hasPermission("flycontroller.admin")) {
+            completions.add("sqlite");
+            completions.add("binary");
         }
 
         return completions;
@@ -0,0 +1,45 @@
+package com.flyaway.flycontroller.economy;
+
+import org.bukkit.entity.Player;
+import su.nightexpress.coinsengine.api.CoinsEngineAPI;
+import su.nightexpress.coinsengine.api.currency.Currency;
+
+public class CoinsEngineEconomyProvider implements EconomyProvider {
+    private final String currencyName;
+    private final Currency currency;
+
+    public CoinsEngineEconomyProvider(String currencyName) {
+        this.currencyName = currencyName;
+        this.currency = CoinsEngineAPI.getCurrency(currencyName);
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return currency != null;
+    }
+
+    @Override
+    public String getCurrencyName() {
+        return currency != null ? currency.getName() : currencyName;
+    }
+
+    @Override
+    public String getCurrencySymbol() {
+        return currency != null ? currency.getSymbol() : "";
+    }
+
+    @Override
+    public double getBalance(Player player) {
+        return CoinsEngineAPI.getBalance(player, currency);
+    }
+
+    // Проверка и списание атомарны только относительно других вызовов в потоке игрока
+    @Override
+    public boolean withdraw(Player player, double amount) {
+        if (CoinsEngineAPI.getBalance(player, currency) < amount) {
+            return false;
+        }
+        CoinsEngineAPI.removeBalance(player, currency, amount);
+        return true;
+    }
+}
@@ -0,0 +1,23 @@
+package com.flyaway.flycontroller.economy;
+
+import org.bukkit.entity.Player;
+
+// Методы баланса вызываются в потоке игрока; из асинхронных потоков - только если провайдер потокобезопасен
+public interface EconomyProvider {
+
+    boolean isAvailable();
+
+    String getCurrencyName();
+
+    String getCurrencySymbol();
+
+    double getBalance(Player player);
+
+    // Проверка и списание одной операцией: false, если средств недостаточно
+    boolean withdraw(Player player, double amount);
+
+    // Большинство экономик (CoinsEngine, плагины за Vault) рассчитаны только на серверный поток
+    default boolean isThreadSafe() {
+        return false;
+    }
+}
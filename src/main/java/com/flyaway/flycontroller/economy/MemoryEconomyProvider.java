@@ -0,0 +1,67 @@
+package com.flyaway.flycontroller.economy;
+
+import org.bukkit.entity.Player;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.LockSupport;
+
+// Экономика в памяти для нагрузочных тестов: искусственная задержка имитирует медленную базу
+public class MemoryEconomyProvider implements EconomyProvider {
+    private final Map<UUID, Double> balances = new ConcurrentHashMap<>();
+    private final double startingBalance;
+    private final long latencyNanos;
+
+    public MemoryEconomyProvider(double startingBalance, long latencyMillis) {
+        this.startingBalance = startingBalance;
+        this.latencyNanos = Math.max(0, latencyMillis) * 1_000_000L;
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return true;
+    }
+
+    @Override
+    public String getCurrencyName() {
+        return "memory";
+    }
+
+    @Override
+    public String getCurrencySymbol() {
+        return "";
+    }
+
+    @Override
+    public double getBalance(Player player) {
+        simulateLatency();
+        return balances.getOrDefault(player.getUniqueId(), startingBalance);
+    }
+
+    @Override
+    public boolean withdraw(Player player, double amount) {
+        simulateLatency();
+        boolean[] withdrawn = new boolean[1];
+        balances.compute(player.getUniqueId(), (id, balance) -> {
+            double current = balance != null ? balance : startingBalance;
+            if (current < amount) {
+                return current;
+            }
+            withdrawn[0] = true;
+            return current - amount;
+        });
+        return withdrawn[0];
+    }
+
+    @Override
+    public boolean isThreadSafe() {
+        return true;
+    }
+
+    private void simulateLatency() {
+        if (latencyNanos > 0) {
+            LockSupport.parkNanos(latencyNanos);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.flyaway.flycontroller.economy;
+
+import net.milkbowl.vault.economy.Economy;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.RegisteredServiceProvider;
+
+public class VaultEconomyProvider implements EconomyProvider {
+    private final Economy economy;
+
+    public VaultEconomyProvider() {
+        RegisteredServiceProvider<Economy> registration = Bukkit.getServicesManager().getRegistration(Economy.class);
+        this.economy = registration != null ? registration.getProvider() : null;
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return economy != null && economy.isEnabled();
+    }
+
+    @Override
+    public String getCurrencyName() {
+        return economy != null ? economy.currencyNamePlural() : "Vault";
+    }
+
+    @Override
+    public String getCurrencySymbol() {
+        return "";
+    }
+
+    @Override
+    public double getBalance(Player player) {
+        return economy.getBalance(player);
+    }
+
+    // Вызывается в потоке игрока: экономики за Vault в большинстве своём не потокобезопасны
+    @Override
+    public boolean withdraw(Player player, double amount) {
+        if (!economy.has(player, amount)) {
+            return false;
+        }
+        return economy.withdrawPlayer(player, amount).transactionSuccess();
+    }
+}
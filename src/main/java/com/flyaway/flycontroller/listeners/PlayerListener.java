@@ -1,53 +1,70 @@
 package com.flyaway.flycontroller.listeners;
 
 import com.flyaway.flycontroller.FlyPlugin;
+import com.flyaway.flycontroller.managers.CombatManager;
 import com.flyaway.flycontroller.managers.ConfigManager;
 import com.flyaway.flycontroller.managers.FlightManager;
 import com.flyaway.flycontroller.managers.PlayerManager;
-import com.flyaway.flycontroller.models.FlightData;
+import com.flyaway.flycontroller.managers.WorldManager;
+import com.flyaway.flycontroller.models.FlightSession;
 import com.flyaway.flycontroller.utils.TimeFormatter;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.entity.EntityDamageByEntityEvent;
+import org.bukkit.event.player.AsyncPlayerPreLoginEvent;
 import org.bukkit.event.player.PlayerChangedWorldEvent;
 import org.bukkit.event.player.PlayerCommandPreprocessEvent;
 import org.bukkit.event.player.PlayerJoinEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.server.ServerLoadEvent;
 
 import java.util.Map;
-import java.util.UUID;
 
 public class PlayerListener implements Listener {
     private final FlyPlugin plugin;
     private final ConfigManager configManager;
     private final PlayerManager playerManager;
     private final FlightManager flightManager;
+    private final WorldManager worldManager;
+    private final CombatManager combatManager;
 
     public PlayerListener(FlyPlugin plugin) {
         this.plugin = plugin;
         this.configManager = plugin.getConfigManager();
         this.playerManager = plugin.getPlayerManager();
         this.flightManager = plugin.getFlightManager();
+        this.worldManager = plugin.getWorldManager();
+        this.combatManager = plugin.getCombatManager();
     }
 
     @EventHandler(priority = EventPriority.HIGH)
     public void onPlayerCommand(PlayerCommandPreprocessEvent event) {
         Player player = event.getPlayer();
-        String message = event.getMessage().toLowerCase().trim();
 
-        if (isFlyCommand(message) && !configManager.isWorldAllowed(player.getWorld())) {
-            playerManager.sendMessage(player, configManager.getMessage("fly-command-not-allowed"));
+        if (!playerManager.isInterceptedCommand(event.getMessage())) return;
+
+        if (!worldManager.isWorldAllowed(player.getWorld())) {
+            playerManager.send(player, "fly-command-not-allowed");
+            event.setCancelled(true);
+        } else if (flightManager.isInCombat(player)) {
+            // Взлёт через /fly в бою запрещён так же, как /mfly activate
             event.setCancelled(true);
         }
     }
 
+    // Команды других плагинов зарегистрированы только к этому моменту
+    @EventHandler
+    public void onServerLoad(ServerLoadEvent event) {
+        playerManager.resolveInterceptedCommands();
+    }
+
     @EventHandler
     public void onPlayerChangeWorld(PlayerChangedWorldEvent event) {
         Player player = event.getPlayer();
 
-        if (!configManager.isWorldAllowed(player.getWorld()) && flightManager.shouldManageFlight(player)) {
+        if (!worldManager.isWorldAllowed(player.getWorld()) && flightManager.shouldManageFlight(player)) {
             flightManager.pauseActiveFlight(player, configManager.getMessage("disable-reason.change-world"));
         }
     }
@@ -56,59 +73,56 @@ public class PlayerListener implements Listener {
     public void onPlayerQuit(PlayerQuitEvent event) {
         Player player = event.getPlayer();
 
-        if (flightManager.hasActiveFlightTimes(player.getUniqueId())) {
+        if (flightManager.hasActiveFlight(player.getUniqueId())) {
             flightManager.pauseActiveFlight(player, configManager.getMessage("disable-reason.quit"));
         }
+
+        flightManager.removeSession(player.getUniqueId());
+        plugin.getDataManager().unloadPlayerData(player.getUniqueId());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerPreLogin(AsyncPlayerPreLoginEvent event) {
+        if (event.getLoginResult() != AsyncPlayerPreLoginEvent.Result.ALLOWED) {
+            plugin.getDataManager().discardPreloadedData(event.getUniqueId());
+            return;
+        }
+
+        plugin.getDataManager().preloadPlayerData(event.getUniqueId());
     }
 
     @EventHandler
     public void onPlayerJoin(PlayerJoinEvent event) {
         Player player = event.getPlayer();
-        UUID playerId = player.getUniqueId();
-        boolean isWorldAllowed = configManager.isWorldAllowed(player.getWorld());
+        FlightSession session = flightManager.createSession(player);
+        boolean isWorldAllowed = worldManager.isWorldAllowed(player.getWorld());
 
-        handlePausedFlight(player, playerId, isWorldAllowed);
+        handlePausedFlight(player, session, isWorldAllowed);
 
         if (!isWorldAllowed) {
             flightManager.disableFlight(player);
         }
     }
 
-    @EventHandler
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
     public void onPlayerAttack(EntityDamageByEntityEvent event) {
-        if (!configManager.needPvpDisableFlight()) return;
-
-        if (event.getDamager() instanceof Player attacker && event.getEntity() instanceof Player victim) {
-            flightManager.handleCombat(attacker);
-            flightManager.handleCombat(victim);
-        }
+        combatManager.handleDamage(event.getDamager(), event.getEntity());
     }
 
-    private boolean isFlyCommand(String message) {
-        if (message.startsWith("/")) {
-            message = message.substring(1);
-        }
-        String command = message.split(" ")[0];
-        return command.equals("fly") || command.equals("essentials:fly");
-    }
-
-    private void handlePausedFlight(Player player, UUID playerId, boolean isWorldAllowed) {
-        FlightData data = plugin.getDataManager().loadPlayerData(playerId);
-        if (data == null || data.getPausedTime() <= 0) return;
-
-        long savedPausedTime = data.getPausedTime();
-        flightManager.setPausedFlightTime(playerId, savedPausedTime);
+    private void handlePausedFlight(Player player, FlightSession session, boolean isWorldAllowed) {
+        long savedPausedTime = session.getPausedTime();
+        if (savedPausedTime <= 0) return;
 
         Map<String, String> timePlaceholders = Map.of("time", TimeFormatter.formatTime(savedPausedTime, configManager));
 
         if (isWorldAllowed) {
             if (flightManager.activatePausedFlight(player)) {
-                playerManager.sendMessage(player, configManager.getMessage("flight-restored", timePlaceholders));
+                playerManager.send(player, "flight-restored", timePlaceholders);
             } else {
-                playerManager.sendMessage(player, configManager.getMessage("flight-restored-failed"));
+                playerManager.send(player, "flight-restored-failed");
             }
         } else {
-            playerManager.sendMessage(player, configManager.getMessage("flight-saved-comeback", timePlaceholders));
+            playerManager.send(player, "flight-saved-comeback", timePlaceholders);
         }
     }
 }
@@ -0,0 +1,27 @@
+package com.flyaway.flycontroller.listeners;
+
+import com.flyaway.flycontroller.FlyPlugin;
+import com.flyaway.flycontroller.managers.WorldManager;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.world.WorldLoadEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
+
+public class WorldListener implements Listener {
+    private final WorldManager worldManager;
+
+    public WorldListener(FlyPlugin plugin) {
+        this.worldManager = plugin.getWorldManager();
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onWorldLoad(WorldLoadEvent event) {
+        worldManager.handleWorldLoad(event.getWorld());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onWorldUnload(WorldUnloadEvent event) {
+        worldManager.handleWorldUnload(event.getWorld());
+    }
+}
@@ -1,20 +1,34 @@
 package com.flyaway.flycontroller.managers;
 
 import com.flyaway.flycontroller.FlyPlugin;
-import com.flyaway.flycontroller.utils.TimeFormatter;
-import net.kyori.adventure.text.minimessage.MiniMessage;
+import com.flyaway.flycontroller.utils.TimerComponentCache;
+import net.kyori.adventure.text.Component;
 import org.bukkit.entity.Player;
 
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class ActionBarManager {
     private final FlyPlugin plugin;
     private final ConfigManager configManager;
-    private final MiniMessage miniMessage = MiniMessage.miniMessage();
+    private final PlayerManager playerManager;
+
+    // Последний отправленный компонент: компоненты из кеша уникальны для каждой секунды
+    private final Map<UUID, Component> lastSent = new ConcurrentHashMap<>();
+    private volatile TimerComponentCache rendered;
 
     public ActionBarManager(FlyPlugin plugin) {
         this.plugin = plugin;
         this.configManager = plugin.getConfigManager();
+        this.playerManager = plugin.getPlayerManager();
+        reload();
+    }
+
+    public void reload() {
+        this.rendered = new TimerComponentCache(playerManager.getComponent("action-bar"),
+                configManager.getTierTable().getMaxDuration());
+        lastSent.clear();
     }
 
     public void sendFlightTime(Player player, long endTime) {
@@ -22,13 +36,14 @@ public class ActionBarManager {
         if (remainingTime <= 0) {
             return;
         }
-        long minutes = remainingTime / 60000;
-        long seconds = (remainingTime % 60000) / 1000;
-
-        String timeString = configManager.getMessage("action-bar", Map.of(
-                "minutes", String.valueOf(minutes),
-                "seconds", String.format("%02d", seconds)
-        ));
-        player.sendActionBar(miniMessage.deserialize(timeString));
+
+        Component component = rendered.get(remainingTime / 1000);
+        if (lastSent.put(player.getUniqueId(), component) != component) {
+            player.sendActionBar(component);
+        }
+    }
+
+    public void clear(UUID playerId) {
+        lastSent.remove(playerId);
     }
 }
@@ -0,0 +1,142 @@
+package com.flyaway.flycontroller.managers;
+
+import com.flyaway.flycontroller.FlyPlugin;
+import com.flyaway.flycontroller.utils.TimerComponentCache;
+import net.kyori.adventure.bossbar.BossBar;
+import net.kyori.adventure.text.Component;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Таймер полёта в BossBar: один экземпляр на игрока, пакеты уходят только при изменении значений
+public class BossBarManager {
+    private static final int PROGRESS_STEPS = 100; // Точность полосы - 1%
+
+    private final FlyPlugin plugin;
+    private final ConfigManager configManager;
+    private final PlayerManager playerManager;
+
+    private final Map<UUID, PlayerBar> bars = new ConcurrentHashMap<>();
+    private volatile TimerComponentCache rendered;
+    private volatile BossBar.Color color;
+    private volatile BossBar.Overlay overlay;
+
+    public BossBarManager(FlyPlugin plugin) {
+        this.plugin = plugin;
+        this.configManager = plugin.getConfigManager();
+        this.playerManager = plugin.getPlayerManager();
+        loadSettings();
+    }
+
+    // Старые полосы скрываются, при следующем обновлении создаются с новыми настройками
+    public void reload() {
+        loadSettings();
+        for (Map.Entry<UUID, PlayerBar> entry : bars.entrySet()) {
+            Player player = Bukkit.getPlayer(entry.getKey());
+            PlayerBar playerBar = entry.getValue();
+            if (player != null && playerBar.visible) {
+                plugin.getTaskScheduler().runForEntity(player, () -> player.hideBossBar(playerBar.bar));
+            }
+        }
+        bars.clear();
+    }
+
+    public void disable() {
+        for (Map.Entry<UUID, PlayerBar> entry : bars.entrySet()) {
+            Player player = Bukkit.getPlayer(entry.getKey());
+            if (player != null && entry.getValue().visible) {
+                player.hideBossBar(entry.getValue().bar);
+            }
+        }
+        bars.clear();
+    }
+
+    private void loadSettings() {
+        this.rendered = new TimerComponentCache(playerManager.getComponent("boss-bar"),
+                configManager.getTierTable().getMaxDuration());
+        this.color = parse(BossBar.Color.class, configManager.getBossBarColor(), BossBar.Color.GREEN);
+        this.overlay = parse(BossBar.Overlay.class, configManager.getBossBarOverlay(), BossBar.Overlay.PROGRESS);
+    }
+
+    private <E extends Enum<E>> E parse(Class<E> type, String name, E fallback) {
+        try {
+            return Enum.valueOf(type, name.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            plugin.getLogger().warning("Неверное значение BossBar '" + name + "', используется " + fallback.name().toLowerCase(Locale.ROOT));
+            return fallback;
+        }
+    }
+
+    public void sendFlightTime(Player player, long endTime, long durationMillis) {
+        long remainingTime = endTime - System.currentTimeMillis();
+        if (remainingTime <= 0) {
+            return;
+        }
+
+        Component title = rendered.get(remainingTime / 1000);
+        float progress = durationMillis > 0
+                ? Math.round(Math.min(1.0, (double) remainingTime / durationMillis) * PROGRESS_STEPS) / (float) PROGRESS_STEPS
+                : 1.0f;
+
+        PlayerBar playerBar = bars.get(player.getUniqueId());
+        if (playerBar == null) {
+            playerBar = new PlayerBar(BossBar.bossBar(title, progress, color, overlay), title, progress);
+            bars.put(player.getUniqueId(), playerBar);
+        } else {
+            // Полоса этого полёта уже скрыта паузой или окончанием - запоздавшее обновление её не показывает
+            if (playerBar.dismissedEndTime == endTime) {
+                return;
+            }
+            // Компоненты из кеша уникальны для каждой секунды, сравнения по ссылке достаточно
+            if (playerBar.title != title) {
+                playerBar.title = title;
+                playerBar.bar.name(title);
+            }
+            if (playerBar.progress != progress) {
+                playerBar.progress = progress;
+                playerBar.bar.progress(progress);
+            }
+        }
+
+        playerBar.endTime = endTime;
+        if (!playerBar.visible) {
+            playerBar.visible = true;
+            player.showBossBar(playerBar.bar);
+        }
+    }
+
+    // Пауза или окончание полёта: полоса скрывается, но остаётся за игроком до выхода
+    public void hide(Player player) {
+        PlayerBar playerBar = bars.get(player.getUniqueId());
+        if (playerBar == null) return;
+
+        playerBar.dismissedEndTime = playerBar.endTime;
+        if (playerBar.visible) {
+            playerBar.visible = false;
+            player.hideBossBar(playerBar.bar);
+        }
+    }
+
+    public void remove(UUID playerId) {
+        bars.remove(playerId);
+    }
+
+    private static final class PlayerBar {
+        final BossBar bar;
+        volatile Component title;
+        volatile float progress;
+        volatile boolean visible;
+        volatile long endTime; // Окончание полёта, который показывает полоса
+        volatile long dismissedEndTime; // Окончание полёта, для которого полоса скрыта
+
+        PlayerBar(BossBar bar, Component title, float progress) {
+            this.bar = bar;
+            this.title = title;
+            this.progress = progress;
+        }
+    }
+}
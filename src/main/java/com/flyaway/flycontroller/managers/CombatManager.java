@@ -0,0 +1,65 @@
+package com.flyaway.flycontroller.managers;
+
+import com.flyaway.flycontroller.FlyPlugin;
+import com.flyaway.flycontroller.models.FlightSession;
+import com.flyaway.flycontroller.scheduler.TaskScheduler;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+import org.bukkit.entity.Projectile;
+import org.bukkit.entity.Tameable;
+
+// Боевая метка: полёт ставится на паузу только при входе в бой, повторные удары лишь продлевают метку
+public class CombatManager {
+    private final ConfigManager configManager;
+    private final FlightManager flightManager;
+    private final TaskScheduler taskScheduler;
+
+    public CombatManager(FlyPlugin plugin) {
+        this.configManager = plugin.getConfigManager();
+        this.flightManager = plugin.getFlightManager();
+        this.taskScheduler = plugin.getTaskScheduler();
+    }
+
+    public void handleDamage(Entity damager, Entity target) {
+        if (!configManager.needPvpDisableFlight()) return;
+        if (!(target instanceof Player victim)) return;
+
+        Player attacker = resolveAttacker(damager);
+        if (attacker == null || attacker.equals(victim)) return;
+
+        long now = System.currentTimeMillis();
+        long tagEnd = now + configManager.getCombatTagDuration();
+        tag(attacker, now, tagEnd);
+        tag(victim, now, tagEnd);
+    }
+
+    // Сессии есть только у вошедших игроков: NPC (Citizens и т.п.) сессию не получают и не метятся
+    private void tag(Player player, long now, long tagEnd) {
+        if (player.hasMetadata("NPC")) return;
+
+        FlightSession session = flightManager.findSession(player.getUniqueId());
+        if (session == null) return;
+        // Повторные удары только продлевают метку; повторный взлёт в бою запрещают проверки активации
+        if (!session.tagCombat(now, tagEnd)) return;
+
+        // Атакующий может принадлежать другому региону, поэтому полёт ставится на паузу в его потоке
+        taskScheduler.runForEntity(player, () -> {
+            if (player.isOnline()) {
+                flightManager.handleCombat(player);
+            }
+        });
+    }
+
+    private Player resolveAttacker(Entity damager) {
+        if (damager instanceof Player player) {
+            return player;
+        }
+        if (damager instanceof Projectile projectile && projectile.getShooter() instanceof Player shooter) {
+            return shooter;
+        }
+        if (damager instanceof Tameable pet && pet.isTamed() && pet.getOwner() instanceof Player owner) {
+            return owner;
+        }
+        return null;
+    }
+}
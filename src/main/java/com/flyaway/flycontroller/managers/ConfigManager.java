@@ -1,21 +1,29 @@
 package com.flyaway.flycontroller.managers;
 
 import com.flyaway.flycontroller.models.FlightTier;
+import com.flyaway.flycontroller.models.TierTable;
 import com.flyaway.flycontroller.FlyPlugin;
-import org.bukkit.World;
+import com.flyaway.flycontroller.utils.MessageTemplate;
+import com.flyaway.flycontroller.utils.WorldMatcher;
+import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.configuration.file.YamlConfiguration;
 import org.jetbrains.annotations.NotNull;
 
+import java.io.File;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class ConfigManager {
     private final FlyPlugin plugin;
-    private FileConfiguration config;
-    private Map<Integer, FlightTier> flightTiers;
-    private Map<Integer, Float> flySpeeds;
-    private List<String> allowedWorlds;
+    // Все значения публикуются одной записью, читатели всегда видят согласованный снимок
+    private volatile Snapshot snapshot;
 
     public ConfigManager(FlyPlugin plugin) {
         this.plugin = plugin;
@@ -23,18 +31,26 @@ public class ConfigManager {
 
     public void loadConfig() {
         plugin.saveDefaultConfig();
-        config = plugin.getConfig();
-        setFlightTiers();
-        setFlySpeeds();
-        setAllowedWorlds();
+        this.snapshot = new Snapshot(readConfig());
     }
 
-    public void reloadConfig() {
-        plugin.reloadConfig();
-        loadConfig();
+    // Файл читается и разбирается в асинхронном потоке, снимок подменяется по готовности
+    public CompletableFuture<Void> reloadConfig() {
+        return CompletableFuture.supplyAsync(() -> new Snapshot(readConfig()), plugin.getTaskScheduler()::runAsync)
+                .thenAccept(loaded -> this.snapshot = loaded);
     }
 
-    public void setFlightTiers() {
+    private FileConfiguration readConfig() {
+        YamlConfiguration config = YamlConfiguration.loadConfiguration(new File(plugin.getDataFolder(), "config.yml"));
+
+        InputStream defaults = plugin.getResource("config.yml");
+        if (defaults != null) {
+            config.setDefaults(YamlConfiguration.loadConfiguration(new InputStreamReader(defaults, StandardCharsets.UTF_8)));
+        }
+        return config;
+    }
+
+    private TierTable parseFlightTiers(FileConfiguration config) {
         Map<Integer, FlightTier> tiers = new HashMap<>();
 
         if (config.contains("flight-tiers")) {
@@ -58,10 +74,10 @@ public class ConfigManager {
             plugin.getLogger().warning("Используются уровни полёта по умолчанию");
         }
 
-        this.flightTiers = tiers;
+        return new TierTable(tiers);
     }
 
-    public void setFlySpeeds() {
+    private Map<Integer, Float> parseFlySpeeds(FileConfiguration config) {
         Map<Integer, Float> speeds = new HashMap<>();
 
         if (config.contains("fly-speeds")) {
@@ -83,15 +99,26 @@ public class ConfigManager {
             speeds.put(3, 0.4f);
         }
 
-        this.flySpeeds = speeds;
+        return Map.copyOf(speeds);
     }
 
-    public void setAllowedWorlds() {
-        this.allowedWorlds = config.getStringList("worlds");
+    private Map<String, MessageTemplate> parseMessages(FileConfiguration config) {
+        Map<String, MessageTemplate> templates = new HashMap<>();
+
+        ConfigurationSection section = config.getConfigurationSection("messages");
+        if (section != null) {
+            for (String key : section.getKeys(true)) {
+                if (section.isString(key)) {
+                    templates.put(key, MessageTemplate.compile(section.getString(key)));
+                }
+            }
+        }
+
+        return Map.copyOf(templates);
     }
 
     public @NotNull String getPrefix() {
-        return config.getString("prefix", "<gray>[<blue>FlyController</blue>]</gray>");
+        return snapshot.prefix;
     }
 
     public @NotNull String getMessage(String key) {
@@ -99,47 +126,147 @@ public class ConfigManager {
     }
 
     public @NotNull String getMessage(String key, Map<String, String> placeholders) {
-        String message = config.getString("messages." + key, "<red>message." + key + " not-found");
-        return formatMessage(message, placeholders);
+        return getTemplate(key).render(placeholders);
     }
 
-    private @NotNull String formatMessage(String message, Map<String, String> placeholders) {
-        if (message == null || message.isEmpty()) return "";
-        message = message.replaceAll("\\s+$", "");
-
-        if (placeholders != null) {
-            for (Map.Entry<String, String> entry : placeholders.entrySet()) {
-                message = message.replace("{" + entry.getKey() + "}", entry.getValue());
-            }
+    public @NotNull MessageTemplate getTemplate(String key) {
+        Snapshot current = snapshot;
+        MessageTemplate template = current.messages.get(key);
+        if (template == null) {
+            return current.missing.computeIfAbsent(key, k -> MessageTemplate.compile("<red>message." + k + " not-found"));
         }
-        return message;
+        return template;
     }
 
     public boolean needPvpDisableFlight() {
-        return config.getBoolean("pvp-disable-flight", true);
+        return snapshot.pvpDisableFlight;
     }
 
-    public boolean isWorldAllowed(World world) {
-        return allowedWorlds.isEmpty() || allowedWorlds.contains(world.getName());
+    public long getCombatTagDuration() {
+        return snapshot.combatTagDuration;
     }
 
-    public Map<Integer, FlightTier> getFlightTiers() {
-        return flightTiers;
+    public WorldMatcher getWorldMatcher() {
+        return snapshot.worldMatcher;
+    }
+
+    public TierTable getTierTable() {
+        return snapshot.tierTable;
     }
 
     public Map<Integer, Float> getFlightSpeeds() {
-        return flySpeeds;
+        return snapshot.flySpeeds;
     }
 
     public List<String> getAllowedWorlds() {
-        return allowedWorlds;
+        return snapshot.allowedWorlds;
     }
 
     public String getCurrency() {
-        return config.getString("currency", "money"); // money по умолчанию
+        return snapshot.currency;
+    }
+
+    public List<String> getInterceptedCommands() {
+        return snapshot.interceptedCommands;
+    }
+
+    public String getEconomyProvider() {
+        return snapshot.economyProvider;
+    }
+
+    public double getMemoryEconomyBalance() {
+        return snapshot.memoryEconomyBalance;
+    }
+
+    public long getMemoryEconomyLatency() {
+        return snapshot.memoryEconomyLatency;
+    }
+
+    public boolean useBossBar() {
+        return snapshot.bossBarDisplay;
+    }
+
+    public String getBossBarColor() {
+        return snapshot.bossBarColor;
+    }
+
+    public String getBossBarOverlay() {
+        return snapshot.bossBarOverlay;
     }
 
     public long getCooldownTime() {
-        return config.getLong("cooldown", 600000); // 10 минут по умолчанию
+        return snapshot.cooldownTime;
+    }
+
+    public String getStorageType() {
+        return snapshot.storageType;
+    }
+
+    public int getTickBuckets() {
+        return snapshot.tickBuckets;
+    }
+
+    public long getTickBudgetNanos() {
+        return snapshot.tickBudgetNanos;
+    }
+
+    public long getFlushInterval() {
+        return snapshot.flushInterval;
+    }
+
+    public long getShutdownTimeout() {
+        return snapshot.shutdownTimeout;
+    }
+
+    private final class Snapshot {
+        final TierTable tierTable;
+        final Map<Integer, Float> flySpeeds;
+        final List<String> allowedWorlds;
+        final WorldMatcher worldMatcher;
+        final List<String> interceptedCommands;
+        final Map<String, MessageTemplate> messages;
+        final Map<String, MessageTemplate> missing = new ConcurrentHashMap<>();
+        final String prefix;
+        final String currency;
+        final String economyProvider;
+        final double memoryEconomyBalance;
+        final long memoryEconomyLatency;
+        final boolean pvpDisableFlight;
+        final long combatTagDuration;
+        final boolean bossBarDisplay;
+        final String bossBarColor;
+        final String bossBarOverlay;
+        final long cooldownTime;
+        final String storageType;
+        final int tickBuckets;
+        final long tickBudgetNanos;
+        final long flushInterval;
+        final long shutdownTimeout;
+
+        Snapshot(FileConfiguration config) {
+            this.tierTable = parseFlightTiers(config);
+            this.flySpeeds = parseFlySpeeds(config);
+            this.allowedWorlds = List.copyOf(config.getStringList("worlds"));
+            this.worldMatcher = WorldMatcher.compile(allowedWorlds,
+                    entry -> plugin.getLogger().warning("Неверный шаблон мира: " + entry));
+            this.messages = parseMessages(config);
+            this.interceptedCommands = List.copyOf(config.getStringList("intercepted-commands"));
+            this.prefix = config.getString("prefix", "<gray>[<blue>FlyController</blue>]</gray>");
+            this.currency = config.getString("currency", "money"); // money по умолчанию
+            this.economyProvider = config.getString("economy.provider", "coinsengine"); // coinsengine по умолчанию
+            this.memoryEconomyBalance = config.getDouble("economy.memory.starting-balance", 1000000);
+            this.memoryEconomyLatency = config.getLong("economy.memory.latency-ms", 0);
+            this.pvpDisableFlight = config.getBoolean("pvp-disable-flight", true);
+            this.combatTagDuration = config.getLong("combat-tag-duration", 15) * 1000L; // 15 секунд по умолчанию
+            this.bossBarDisplay = "bossbar".equalsIgnoreCase(config.getString("display.mode", "actionbar")); // actionbar по умолчанию
+            this.bossBarColor = config.getString("display.boss-bar-color", "green");
+            this.bossBarOverlay = config.getString("display.boss-bar-overlay", "progress");
+            this.cooldownTime = config.getLong("cooldown", 600000); // 10 минут по умолчанию
+            this.storageType = config.getString("storage.type", "yaml"); // yaml по умолчанию
+            this.tickBuckets = config.getInt("performance.tick-buckets", 0); // 0 - без распределения по тикам
+            this.tickBudgetNanos = (long) (config.getDouble("performance.tick-budget-ms", 2.0) * 1_000_000L);
+            this.flushInterval = config.getLong("storage.flush-interval", 5); // 5 секунд по умолчанию
+            this.shutdownTimeout = config.getLong("storage.shutdown-timeout", 10); // 10 секунд по умолчанию
+        }
     }
 }
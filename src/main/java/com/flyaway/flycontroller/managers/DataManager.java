@@ -2,64 +2,223 @@ package com.flyaway.flycontroller.managers;
 
 import com.flyaway.flycontroller.models.FlightData;
 import com.flyaway.flycontroller.FlyPlugin;
-import org.bukkit.configuration.file.FileConfiguration;
-import org.bukkit.configuration.file.YamlConfiguration;
+import com.flyaway.flycontroller.scheduler.TaskHandle;
+import com.flyaway.flycontroller.storage.PlayerDataStorage;
+import com.flyaway.flycontroller.storage.StorageType;
+import com.flyaway.flycontroller.storage.YamlStorage;
+import org.bukkit.Bukkit;
 
 import java.io.File;
 import java.io.IOException;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiConsumer;
 
 public class DataManager {
+    private static final long PRELOAD_TTL = 30000; // 30 секунд на вход после предзагрузки
+    private static final long SHUTDOWN_GRACE = 1000; // Ожидание после прерывания зависшей записи
+
     private final FlyPlugin plugin;
-    private final File dataFolder;
+    private final PlayerDataStorage storage;
+    private StorageType storageType;
+
+    // Данные онлайн-игроков и снимки, ожидающие записи на диск
+    private final Map<UUID, FlightData> cache = new ConcurrentHashMap<>();
+    private final Map<UUID, FlightData> pendingWrites = new ConcurrentHashMap<>();
+    private final Map<UUID, PreloadedData> preloaded = new ConcurrentHashMap<>();
+    private final Object flushLock = new Object();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private TaskHandle flushTask;
 
     public DataManager(FlyPlugin plugin) {
         this.plugin = plugin;
-        this.dataFolder = new File(plugin.getDataFolder(), "playerdata");
-        if (!dataFolder.exists()) {
-            dataFolder.mkdirs();
+        this.storage = createStorage(plugin.getConfigManager().getStorageType());
+    }
+
+    private PlayerDataStorage createStorage(String typeName) {
+        StorageType type = StorageType.fromString(typeName);
+        if (type == null) {
+            plugin.getLogger().warning("Неизвестный тип хранилища '" + typeName + "', используется YAML");
+            type = StorageType.YAML;
+        }
+
+        try {
+            this.storageType = type;
+            return type.open(plugin);
+        } catch (IOException | SQLException e) {
+            plugin.getLogger().warning("Не удалось открыть хранилище " + type.getName() + ", используется YAML: " + e.getMessage());
+            this.storageType = StorageType.YAML;
+            return new YamlStorage(plugin, new File(plugin.getDataFolder(), "playerdata"));
         }
     }
 
-    public FlightData loadPlayerData(UUID playerId) {
-        File playerFile = getPlayerFile(playerId);
-        FlightData data = new FlightData();
+    public void startFlushTask(long intervalSeconds) {
+        cancelFlushTask();
+        long intervalTicks = Math.max(1L, intervalSeconds) * 20L;
+        this.flushTask = plugin.getTaskScheduler().runAsyncTimer(this::flushPending, intervalTicks, intervalTicks);
+    }
+
+    // Итоговая запись ограничена по времени: при обрыве файлы остаются целыми благодаря атомарной замене
+    public void shutdown(long timeoutSeconds) {
+        cancelFlushTask();
+
+        Thread flushThread = new Thread(this::flushPending, "FlyController-shutdown-flush");
+        flushThread.setDaemon(true);
+        flushThread.start();
+        joinQuietly(flushThread, Math.max(1L, timeoutSeconds) * 1000L);
+
+        if (flushThread.isAlive()) {
+            flushThread.interrupt();
+            joinQuietly(flushThread, SHUTDOWN_GRACE);
+        }
+
+        if (flushThread.isAlive() || !pendingWrites.isEmpty()) {
+            plugin.getLogger().warning("Данные игроков не записаны при выключении (лимит " + timeoutSeconds
+                    + " сек): " + pendingWrites.keySet());
+        }
 
-        if (!playerFile.exists()) {
-            return data;
+        if (flushThread.isAlive()) {
+            // Хранилище занято зависшей записью: закрываем его, как только запись отпустит блокировку
+            Thread closeThread = new Thread(storage::close, "FlyController-storage-close");
+            closeThread.setDaemon(true);
+            closeThread.start();
+        } else {
+            storage.close();
         }
+        cache.clear();
+        preloaded.clear();
+    }
+
+    private static void joinQuietly(Thread thread, long millis) {
+        try {
+            thread.join(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Сначала публикуется пустая заявка: сохранение во время чтения её удалит, и устаревшие данные не попадут в кеш
+    public void preloadPlayerData(UUID playerId) {
+        long now = System.currentTimeMillis();
+        PreloadedData pending = new PreloadedData(null, now);
+        preloaded.put(playerId, pending);
+        preloaded.replace(playerId, pending, new PreloadedData(readPlayerData(playerId), now));
+    }
 
-        FileConfiguration config = YamlConfiguration.loadConfiguration(playerFile);
+    public void discardPreloadedData(UUID playerId) {
+        preloaded.remove(playerId);
+    }
 
-        data.setBalance(config.getDouble("balance", 0));
-        data.setMaxUnlockedLevel(config.getInt("maxUnlockedLevel", 0));
-        data.setCooldownEnd(config.getLong("cooldownEnd", 0));
-        data.setFlightActive(config.getBoolean("flightActive", false));
-        data.setFlightEndTime(config.getLong("flightEndTime", 0));
-        data.setPausedTime(config.getLong("pausedTime", 0));
+    public FlightData loadPlayerData(UUID playerId) {
+        FlightData cached = cache.get(playerId);
+        if (cached != null) {
+            return cached;
+        }
 
+        FlightData data = claimPreloadedData(playerId);
+        if (data == null) {
+            data = readPlayerData(playerId);
+        }
+        if (Bukkit.getPlayer(playerId) != null) {
+            cache.put(playerId, data);
+        }
         return data;
     }
 
     public void savePlayerData(UUID playerId, FlightData data) {
-        File playerFile = getPlayerFile(playerId);
-        FileConfiguration config = new YamlConfiguration();
+        if (Bukkit.getPlayer(playerId) != null) {
+            cache.put(playerId, data);
+        }
+        pendingWrites.put(playerId, data.copy());
+        preloaded.remove(playerId);
+    }
 
-        config.set("balance", data.getBalance());
-        config.set("maxUnlockedLevel", data.getMaxUnlockedLevel());
-        config.set("cooldownEnd", data.getCooldownEnd());
-        config.set("flightActive", data.isFlightActive());
-        config.set("flightEndTime", data.getFlightEndTime());
-        config.set("pausedTime", data.getPausedTime());
+    public void unloadPlayerData(UUID playerId) {
+        cache.remove(playerId);
+        if (pendingWrites.containsKey(playerId)) {
+            requestFlush();
+        }
+    }
 
-        try {
-            config.save(playerFile);
-        } catch (IOException e) {
-            plugin.getLogger().warning("Не удалось сохранить данные игрока: " + playerId);
+    // Выходы нескольких игроков подряд объединяются в одну асинхронную запись
+    private void requestFlush() {
+        if (flushRequested.compareAndSet(false, true)) {
+            plugin.getTaskScheduler().runAsync(() -> {
+                flushRequested.set(false);
+                flushPending();
+            });
+        }
+    }
+
+    public void flushPending() {
+        long now = System.currentTimeMillis();
+        preloaded.values().removeIf(entry -> entry.isExpired(now));
+
+        synchronized (flushLock) {
+            if (pendingWrites.isEmpty()) return;
+
+            Map<UUID, FlightData> batch = new HashMap<>(pendingWrites);
+            Set<UUID> failed = storage.saveAll(batch);
+
+            // Удаляем только записанные снимки: незаписанные и более новые останутся в очереди
+            for (Map.Entry<UUID, FlightData> entry : batch.entrySet()) {
+                if (!failed.contains(entry.getKey())) {
+                    pendingWrites.remove(entry.getKey(), entry.getValue());
+                }
+            }
+        }
+    }
+
+    // Полный проход по хранилищу, вызывать только из асинхронного потока
+    public void forEachStored(BiConsumer<UUID, FlightData> consumer) {
+        storage.forEach(consumer);
+    }
+
+    private FlightData claimPreloadedData(UUID playerId) {
+        // Любое сохранение после предзагрузки удаляет запись, поэтому оставшиеся данные актуальны
+        PreloadedData entry = preloaded.remove(playerId);
+        if (entry == null || entry.data == null || entry.isExpired(System.currentTimeMillis())) {
+            return null;
+        }
+        return entry.data;
+    }
+
+    private FlightData readPlayerData(UUID playerId) {
+        FlightData pending = pendingWrites.get(playerId);
+        if (pending != null) {
+            return pending.copy();
+        }
+
+        return storage.load(playerId);
+    }
+
+    public StorageType getStorageType() {
+        return storageType;
+    }
+
+    private void cancelFlushTask() {
+        if (flushTask != null) {
+            flushTask.cancel();
+            flushTask = null;
         }
     }
 
-    private File getPlayerFile(UUID playerId) {
-        return new File(dataFolder, playerId.toString() + ".yml");
+    private static class PreloadedData {
+        final FlightData data;
+        final long loadedAt;
+
+        PreloadedData(FlightData data, long loadedAt) {
+            this.data = data;
+            this.loadedAt = loadedAt;
+        }
+
+        boolean isExpired(long now) {
+            return now - loadedAt > PRELOAD_TTL;
+        }
     }
 }
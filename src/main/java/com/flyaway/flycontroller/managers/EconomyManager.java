@@ -1,17 +1,20 @@
 package com.flyaway.flycontroller.managers;
 
 import com.flyaway.flycontroller.FlyPlugin;
+import com.flyaway.flycontroller.economy.CoinsEngineEconomyProvider;
+import com.flyaway.flycontroller.economy.EconomyProvider;
+import com.flyaway.flycontroller.economy.MemoryEconomyProvider;
+import com.flyaway.flycontroller.economy.VaultEconomyProvider;
 import com.flyaway.flycontroller.utils.NumberFormatter;
 import org.bukkit.entity.Player;
-import su.nightexpress.coinsengine.api.CoinsEngineAPI;
-import su.nightexpress.coinsengine.api.currency.Currency;
 
+import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 public class EconomyManager {
     private final FlyPlugin plugin;
-    private Currency currency;
-    private String currencyName;
+    private volatile EconomyProvider provider;
     private final ConfigManager configManager;
     private final PlayerManager playerManager;
 
@@ -19,76 +22,111 @@ public class EconomyManager {
         this.plugin = plugin;
         this.configManager = plugin.getConfigManager();
         this.playerManager = plugin.getPlayerManager();
-        loadCurrency();
+        loadProvider();
     }
 
-    public void loadCurrency() {
-        currencyName = configManager.getCurrency();
-        this.currency = CoinsEngineAPI.getCurrency(currencyName);
+    public void loadProvider() {
+        String type = configManager.getEconomyProvider();
+        EconomyProvider loaded = createProvider(type);
 
-        if (currency == null) {
-            plugin.getLogger().warning("Валюта '" + currencyName + "' не найдена в CoinsEngine!");
+        if (loaded == null && !type.equalsIgnoreCase("coinsengine")) {
+            plugin.getLogger().warning("Провайдер экономики '" + type + "' недоступен, используется CoinsEngine");
+            loaded = createProvider("coinsengine");
         }
+
+        if (loaded == null) {
+            plugin.getLogger().warning("CoinsEngine не установлен, экономика недоступна!");
+        } else if (!loaded.isAvailable()) {
+            plugin.getLogger().warning("Валюта '" + loaded.getCurrencyName() + "' не найдена!");
+        }
+
+        this.provider = loaded;
+    }
+
+    private EconomyProvider createProvider(String type) {
+        switch (type.toLowerCase(Locale.ROOT)) {
+            case "coinsengine":
+                return isPluginEnabled("CoinsEngine") ? new CoinsEngineEconomyProvider(configManager.getCurrency()) : null;
+            case "vault":
+                return isPluginEnabled("Vault") ? new VaultEconomyProvider() : null;
+            case "memory":
+                return new MemoryEconomyProvider(configManager.getMemoryEconomyBalance(), configManager.getMemoryEconomyLatency());
+            default:
+                return null;
+        }
+    }
+
+    private boolean isPluginEnabled(String name) {
+        return plugin.getServer().getPluginManager().isPluginEnabled(name);
     }
 
     public void reload() {
-        loadCurrency();
+        loadProvider();
     }
 
     public String getCurrencyName() {
-        return currency != null ? currency.getName() : configManager.getCurrency();
+        EconomyProvider provider = this.provider;
+        return provider != null ? provider.getCurrencyName() : configManager.getCurrency();
     }
 
-    public boolean hasEnoughMoney(Player player, double amount) {
-        if (currency == null) {
-            playerManager.sendMessage(player, configManager.getMessage("economy-unavailable", Map.of("currency", currencyName)));
-            return false;
+    // Потокобезопасные провайдеры списывают в асинхронном потоке, остальные - в потоке игрока
+    public CompletableFuture<Boolean> withdrawAsync(Player player, double amount) {
+        if (isThreadSafe()) {
+            return CompletableFuture.supplyAsync(() -> withdrawMoney(player, amount), plugin.getTaskScheduler()::runAsync);
         }
 
-        try {
-            double balance = CoinsEngineAPI.getBalance(player, currency);
-            boolean hasMoney = balance >= amount;
-
-            if (!hasMoney) {
-                playerManager.sendMessage(player, configManager.getMessage("economy-not-enough", Map.of(
-                        "need", amount + getCurrencySymbol(),
-                        "balance", NumberFormatter.formatWithCurrency(balance, getCurrencySymbol()))
-                ));
+        CompletableFuture<Boolean> withdrawn = new CompletableFuture<>();
+        plugin.getTaskScheduler().runForEntity(player, () -> {
+            try {
+                withdrawn.complete(withdrawMoney(player, amount));
+            } catch (Throwable t) {
+                withdrawn.completeExceptionally(t);
             }
+        }, () -> withdrawn.complete(false));
+        return withdrawn;
+    }
 
-            return hasMoney;
-        } catch (Exception e) {
-            playerManager.sendMessage(player, configManager.getMessage("economy-error"));
-            plugin.getLogger().warning("Ошибка при проверке баланса: " + e.getMessage());
-            return false;
-        }
+    private boolean isThreadSafe() {
+        EconomyProvider provider = this.provider;
+        return provider != null && provider.isThreadSafe();
     }
 
-    public boolean withdrawMoney(Player player, double amount) {
-        if (currency == null) {
-            playerManager.sendMessage(player, configManager.getMessage("economy-unavailable", Map.of("currency", currencyName)));
+    private boolean withdrawMoney(Player player, double amount) {
+        EconomyProvider provider = this.provider;
+        if (provider == null || !provider.isAvailable()) {
+            notify(player, "economy-unavailable", Map.of("currency", getCurrencyName()));
             return false;
         }
 
         try {
-            if (!hasEnoughMoney(player, amount)) {
-                return false;
+            if (provider.withdraw(player, amount)) {
+                return true;
             }
 
-            CoinsEngineAPI.removeBalance(player, currency, amount);
-            return true;
+            String symbol = provider.getCurrencySymbol();
+            notify(player, "economy-not-enough", Map.of(
+                    "need", amount + symbol,
+                    "balance", NumberFormatter.formatWithCurrency(provider.getBalance(player), symbol))
+            );
+            return false;
         } catch (Exception e) {
-            playerManager.sendMessage(player, configManager.getMessage("economy-error"));
+            notify(player, "economy-error", null);
             plugin.getLogger().warning("Ошибка при списании денег: " + e.getMessage());
             return false;
         }
     }
 
+    private void notify(Player player, String key, Map<String, String> placeholders) {
+        plugin.getTaskScheduler().runForEntity(player, () -> playerManager.send(player, key, placeholders));
+    }
+
     public String getCurrencySymbol() {
-        return currency != null ? currency.getSymbol() : "";
+        EconomyProvider provider = this.provider;
+        return provider != null ? provider.getCurrencySymbol() : "";
     }
 
     public boolean isEconomyAvailable() {
-        return currency != null;
+        EconomyProvider provider = this.provider;
+        return provider != null && provider.isAvailable();
     }
 }
@@ -1,18 +1,22 @@
 package com.flyaway.flycontroller.managers;
 
 import com.flyaway.flycontroller.models.FlightData;
+import com.flyaway.flycontroller.models.FlightSession;
+import com.flyaway.flycontroller.models.FlightSnapshot;
 import com.flyaway.flycontroller.models.FlightTier;
 import com.flyaway.flycontroller.FlyPlugin;
+import com.flyaway.flycontroller.scheduler.TaskHandle;
+import com.flyaway.flycontroller.scheduler.TaskScheduler;
+import com.flyaway.flycontroller.utils.DeadlineScheduler;
 import com.flyaway.flycontroller.utils.NumberFormatter;
+import com.flyaway.flycontroller.utils.TickShardedDispatcher;
 import com.flyaway.flycontroller.utils.TimeFormatter;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
-import org.bukkit.scheduler.BukkitRunnable;
-import org.bukkit.scheduler.BukkitTask;
 
-import java.util.Iterator;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 
 public class FlightManager {
@@ -20,131 +24,247 @@ public class FlightManager {
     private final ConfigManager configManager;
     private final EconomyManager economyManager;
     private final DataManager dataManager;
+    private final LeaderboardManager leaderboardManager;
     private final PlayerManager playerManager;
+    private final WorldManager worldManager;
     private final ActionBarManager actionBarManager;
-
-    private final Map<UUID, Long> activeFlightTimes = new ConcurrentHashMap<>();
-    private final Map<UUID, Long> pausedFlightTimes = new ConcurrentHashMap<>();
-    private BukkitTask flightTimerTask;
-    private BukkitTask actionBarTimerTask;
+    private final BossBarManager bossBarManager;
+    private final FlightStateReconciler flightStateReconciler;
+    private final TaskScheduler taskScheduler;
+
+    private final Map<UUID, FlightSession> sessions = new ConcurrentHashMap<>();
+    // Снимки для плейсхолдеров: публикуются при каждом изменении состояния
+    private final Map<UUID, FlightSnapshot> snapshots = new ConcurrentHashMap<>();
+    private final Map<UUID, CompletableFuture<Void>> pendingDeposits = new ConcurrentHashMap<>();
+    private final DeadlineScheduler flightExpirations = new DeadlineScheduler();
+    private TaskHandle flightTimerTask;
+    private TaskHandle actionBarTimerTask;
+    private UUID[] activeFlightKeys; // Буфер обхода для таймера, используется только из его задачи
+    private TickShardedDispatcher actionBarDispatcher;
+    private volatile boolean bossBarDisplay;
 
     public FlightManager(FlyPlugin plugin) {
         this.plugin = plugin;
         this.configManager = plugin.getConfigManager();
         this.economyManager = plugin.getEconomyManager();
         this.dataManager = plugin.getDataManager();
+        this.leaderboardManager = plugin.getLeaderboardManager();
         this.playerManager = plugin.getPlayerManager();
+        this.worldManager = plugin.getWorldManager();
         this.actionBarManager = new ActionBarManager(plugin);
+        this.bossBarManager = new BossBarManager(plugin);
+        this.bossBarDisplay = configManager.useBossBar();
+        this.flightStateReconciler = new FlightStateReconciler(plugin, this::hasActiveFlight);
+        this.taskScheduler = plugin.getTaskScheduler();
+    }
+
+    public FlightSession createSession(Player player) {
+        FlightSession session = new FlightSession(player, dataManager.loadPlayerData(player.getUniqueId()));
+        sessions.put(player.getUniqueId(), session);
+        snapshots.put(player.getUniqueId(), FlightSnapshot.of(session, resolveSpeedLevel(player.getFlySpeed())));
+        return session;
+    }
+
+    public void removeSession(UUID playerId) {
+        snapshots.remove(playerId);
+        bossBarManager.remove(playerId);
+        if (sessions.remove(playerId) != null) {
+            untrackActiveFlight(playerId);
+        }
+    }
+
+    public FlightSession findSession(UUID playerId) {
+        return sessions.get(playerId);
+    }
+
+    public FlightSession getSession(Player player) {
+        FlightSession session = sessions.get(player.getUniqueId());
+        return session != null ? session : createSession(player);
     }
 
     public void startTasks() {
-        startFlightTimer();
-        startActionBarTimer();
+        flightStateReconciler.start();
+        int tickBuckets = configManager.getTickBuckets();
+        if (tickBuckets > 1) {
+            startShardedTimer(tickBuckets, configManager.getTickBudgetNanos());
+        } else {
+            startFlightTimer();
+            startActionBarTimer();
+        }
     }
 
-    public void disable() {
-        cancelTask(flightTimerTask);
-        cancelTask(actionBarTimerTask);
+    public void reload() {
+        actionBarManager.reload();
+        bossBarManager.reload();
+        this.bossBarDisplay = configManager.useBossBar();
+        stopTasks();
+        startTasks();
+    }
 
-        activeFlightTimes.keySet().stream()
-                .map(Bukkit::getPlayer)
-                .filter(player -> player != null && player.isOnline())
-                .forEach(player -> pauseActiveFlight(player, configManager.getMessage("disable-reason.plugin-disable")));
+    public void disable() {
+        stopTasks();
+        flightExpirations.clear();
+        flightStateReconciler.clear();
+
+        String reason = configManager.getMessage("disable-reason.plugin-disable");
+        for (FlightSession session : sessions.values()) {
+            if (session.isActive() && session.getPlayer().isOnline()) {
+                pauseActiveFlight(session.getPlayer(), reason);
+            }
+        }
+        bossBarManager.disable();
+        sessions.clear();
+        snapshots.clear();
     }
 
     public boolean activateFlight(Player player) {
-        if (haveActiveFlight(player)) return false;
-        UUID playerId = player.getUniqueId();
-        FlightData data = dataManager.loadPlayerData(playerId);
+        FlightSession session = getSession(player);
+        if (haveActiveFlight(player, session)) return false;
+        FlightData data = session.getData();
 
         if (!validateFlightActivation(player, data)) {
             return false;
         }
 
         int maxLevel = calculateFlightLevel(data.getBalance());
-        FlightTier tier = configManager.getFlightTiers().get(maxLevel);
+        FlightTier tier = configManager.getTierTable().getTier(maxLevel);
         long endTime = System.currentTimeMillis() + (tier.getDuration() * 1000L);
 
-        setupActiveFlight(playerId, data, endTime);
+        setupActiveFlight(session, endTime);
         enableFlight(player);
 
         Map<String, String> placeholders = Map.of(
                 "level", String.valueOf(maxLevel),
                 "minutes", String.valueOf(tier.getDuration() / 60)
         );
-        playerManager.sendMessage(player, configManager.getMessage("flight-activated", placeholders));
+        playerManager.send(player, "flight-activated", placeholders);
 
         return true;
     }
 
     public void pauseActiveFlight(Player player, String reason) {
         UUID playerId = player.getUniqueId();
+        FlightSession session = getSession(player);
 
-        Long remainingTime = getRemainingFlightTime(player);
+        long remainingTime = session.getRemainingTime(System.currentTimeMillis());
         if (remainingTime > 0) {
-            FlightData data = dataManager.loadPlayerData(playerId);
+            FlightData data = session.getData();
             data.setPausedTime(remainingTime);
             data.setFlightActive(false);
             data.setFlightEndTime(0);
 
-            pausedFlightTimes.put(playerId, remainingTime);
+            session.pause(remainingTime);
             dataManager.savePlayerData(playerId, data);
 
             Map<String, String> placeholders = Map.of("reason", reason, "time", TimeFormatter.formatTime(remainingTime, configManager));
-            playerManager.sendMessage(player, configManager.getMessage("flight-paused", placeholders));
+            playerManager.send(player, "flight-paused", placeholders);
         } else {
             if (!isInCreativeOrSpectator(player)) {
-                playerManager.sendMessage(player, configManager.getMessage("flight-disabled", Map.of("reason", reason)));
+                playerManager.send(player, "flight-disabled", Map.of("reason", reason));
             }
+            session.finish(System.currentTimeMillis());
         }
 
+        publishSnapshot(session);
+        bossBarManager.hide(player);
         disableFlight(player);
-        activeFlightTimes.remove(playerId);
+        untrackActiveFlight(playerId);
     }
 
-    public boolean depositMoney(Player player, double amount) {
-        if (!validateEconomy()) {
-            playerManager.sendMessage(player, configManager.getMessage("economy-unavailable"));
-            return false;
-        }
-
+    // Пополнения одного игрока выполняются строго по очереди, чтобы двойной клик не списал деньги дважды
+    public void depositMoney(Player player, double amount) {
         UUID playerId = player.getUniqueId();
-        FlightData data = dataManager.loadPlayerData(playerId);
-        double currentBalance = data.getBalance();
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        CompletableFuture<Void> previous = pendingDeposits.put(playerId, done);
+
+        (previous != null ? previous : CompletableFuture.<Void>completedFuture(null))
+                .thenCompose(ignored -> processDeposit(player, amount))
+                .whenComplete((ignored, error) -> {
+                    if (error != null) {
+                        plugin.getLogger().warning("Ошибка пополнения для " + player.getName() + ": " + error.getMessage());
+                    }
+                    pendingDeposits.remove(playerId, done);
+                    done.complete(null);
+                });
+    }
+
+    // Проверка в потоке игрока, списание - в потоке, который допускает провайдер экономики, зачисление - снова в потоке игрока
+    private CompletableFuture<Void> processDeposit(Player player, double amount) {
+        CompletableFuture<Boolean> validated = new CompletableFuture<>();
+        taskScheduler.runForEntity(player, () -> {
+            try {
+                validated.complete(player.isOnline() && validateDeposit(player, amount));
+            } catch (Throwable t) {
+                validated.completeExceptionally(t);
+            }
+        }, () -> validated.complete(false));
+
+        return validated
+                .thenCompose(valid -> valid ? economyManager.withdrawAsync(player, amount) : CompletableFuture.completedFuture(false))
+                .thenCompose(withdrawn -> withdrawn ? scheduleDepositApply(player, amount) : CompletableFuture.completedFuture(null));
+    }
+
+    // Списанные деньги зачисляются даже если игрок успел выйти
+    private CompletableFuture<Void> scheduleDepositApply(Player player, double amount) {
+        CompletableFuture<Void> applied = new CompletableFuture<>();
+        Runnable apply = () -> {
+            try {
+                applyDeposit(player, amount);
+                applied.complete(null);
+            } catch (Throwable t) {
+                applied.completeExceptionally(t);
+            }
+        };
+        taskScheduler.runForEntity(player, apply, () -> taskScheduler.runAsync(apply));
+        return applied;
+    }
 
-        if (!validateDeposit(player, data, currentBalance, amount)) {
-            return false;
+    private void applyDeposit(Player player, double amount) {
+        UUID playerId = player.getUniqueId();
+        FlightSession session = sessions.get(playerId);
+        if (session == null) {
+            if (Bukkit.isOwnedByCurrentRegion(player) && player.isOnline()) {
+                session = createSession(player);
+            } else {
+                FlightData data = dataManager.loadPlayerData(playerId);
+                data.setBalance(data.getBalance() + amount);
+                data.setMaxUnlockedLevel(Math.max(data.getMaxUnlockedLevel(), calculateFlightLevel(data.getBalance())));
+                dataManager.savePlayerData(playerId, data);
+                leaderboardManager.update(playerId, data);
+                return;
+            }
         }
 
-        double newBalance = currentBalance + amount;
+        FlightData data = session.getData();
+        double newBalance = data.getBalance() + amount;
         data.setBalance(newBalance);
         handleLevelUp(player, data, newBalance);
         dataManager.savePlayerData(playerId, data);
+        leaderboardManager.update(playerId, data);
+        publishSnapshot(session);
 
         sendDepositSuccessMessage(player, amount, newBalance);
-
-        return true;
     }
 
     public boolean activatePausedFlight(Player player) {
-        if (haveActiveFlight(player)) return false;
-        UUID playerId = player.getUniqueId();
+        FlightSession session = getSession(player);
+        if (haveActiveFlight(player, session)) return false;
 
-        Long pausedTime = getValidPausedTime(playerId);
-        if (pausedTime == null || pausedTime <= 0) {
+        long pausedTime = getValidPausedTime(session);
+        if (pausedTime <= 0) {
             return false;
         }
 
         long endTime = System.currentTimeMillis() + pausedTime;
-        activeFlightTimes.put(playerId, endTime);
+        trackActiveFlight(session, endTime);
 
-        FlightData data = dataManager.loadPlayerData(playerId);
+        FlightData data = session.getData();
         data.setFlightActive(true);
         data.setFlightEndTime(endTime);
         data.setPausedTime(0);
-        dataManager.savePlayerData(playerId, data);
+        dataManager.savePlayerData(player.getUniqueId(), data);
+        publishSnapshot(session);
 
-        pausedFlightTimes.remove(playerId);
         enableFlight(player);
 
         plugin.getLogger().info("Активирован полёт из паузы для " + player.getName() + ", время: " + (pausedTime / 1000) + " сек");
@@ -152,16 +272,18 @@ public class FlightManager {
     }
 
     public boolean continueFlight(Player player) {
-        UUID playerId = player.getUniqueId();
+        if (!worldManager.isWorldAllowed(player.getWorld())) {
+            playerManager.send(player, "continue-not-allowed-world");
+            return false;
+        }
 
-        if (!configManager.isWorldAllowed(player.getWorld())) {
-            playerManager.sendMessage(player, configManager.getMessage("continue-not-allowed-world"));
+        if (isInCombat(player, getSession(player))) {
             return false;
         }
 
-        Long pausedTimeBeforeActivation = getValidPausedTime(playerId);
-        if (pausedTimeBeforeActivation == null) {
-            playerManager.sendMessage(player, configManager.getMessage("no-saved-flight-time"));
+        long pausedTimeBeforeActivation = getValidPausedTime(getSession(player));
+        if (pausedTimeBeforeActivation <= 0) {
+            playerManager.send(player, "no-saved-flight-time");
             return false;
         }
 
@@ -171,7 +293,7 @@ public class FlightManager {
                     Map.of();
 
             String messageKey = pausedTimeBeforeActivation > 0 ? "flight-continued-time" : "flight-continued";
-            playerManager.sendMessage(player, configManager.getMessage(messageKey, placeholders));
+            playerManager.send(player, messageKey, placeholders);
             return true;
         }
 
@@ -186,48 +308,64 @@ public class FlightManager {
 
     private boolean validateFlightActivation(Player player, FlightData data) {
         if (data.getBalance() == 0) {
-            playerManager.sendMessage(player, configManager.getMessage("no-balance"));
+            playerManager.send(player, "no-balance");
             return false;
         }
 
         int maxLevel = calculateFlightLevel(data.getBalance());
         if (maxLevel == 0) {
-            playerManager.sendMessage(player, configManager.getMessage("insufficient-funds"));
+            playerManager.send(player, "insufficient-funds");
             return false;
         }
 
         if (data.getCooldownEnd() > System.currentTimeMillis()) {
             long remaining = data.getCooldownEnd() - System.currentTimeMillis();
             Map<String, String> placeholders = Map.of("time", TimeFormatter.formatTime(remaining, configManager));
-            playerManager.sendMessage(player, configManager.getMessage("cooldown-active", placeholders));
+            playerManager.send(player, "cooldown-active", placeholders);
             return false;
         }
 
-        if (!configManager.isWorldAllowed(player.getWorld())) {
-            playerManager.sendMessage(player, configManager.getMessage("activate-not-allowed-world"));
+        if (!worldManager.isWorldAllowed(player.getWorld())) {
+            playerManager.send(player, "activate-not-allowed-world");
             return false;
         }
 
+        return !isInCombat(player, getSession(player));
+    }
+
+    public boolean isInCombat(Player player) {
+        FlightSession session = sessions.get(player.getUniqueId());
+        return session != null && isInCombat(player, session);
+    }
+
+    private boolean isInCombat(Player player, FlightSession session) {
+        long remaining = session.getCombatTagRemaining(System.currentTimeMillis());
+        if (remaining <= 0) {
+            return false;
+        }
+        playerManager.send(player, "combat-flight-blocked", Map.of("time", TimeFormatter.formatTime(remaining, configManager)));
         return true;
     }
 
-    private void setupActiveFlight(UUID playerId, FlightData data, long endTime) {
-        activeFlightTimes.put(playerId, endTime);
+    private void setupActiveFlight(FlightSession session, long endTime) {
+        FlightData data = session.getData();
         data.setFlightActive(true);
         data.setFlightEndTime(endTime);
         data.setCooldownEnd(endTime + configManager.getCooldownTime());
-        dataManager.savePlayerData(playerId, data);
+        trackActiveFlight(session, endTime);
+        dataManager.savePlayerData(session.getPlayer().getUniqueId(), data);
+        publishSnapshot(session);
     }
 
-    private boolean haveActiveFlight(Player player) {
+    private boolean haveActiveFlight(Player player, FlightSession session) {
         if (player.getAllowFlight()) {
-            playerManager.sendMessage(player, configManager.getMessage("flight-active"));
+            playerManager.send(player, "flight-active");
             return true;
         }
 
-        if (activeFlightTimes.containsKey(player.getUniqueId())) {
+        if (session.isActive()) {
             enableFlight(player);
-            playerManager.sendMessage(player, configManager.getMessage("flight-reactivate"));
+            playerManager.send(player, "flight-reactivate");
             return true;
         }
         return false;
@@ -237,12 +375,19 @@ public class FlightManager {
         return economyManager.isEconomyAvailable();
     }
 
-    private boolean validateDeposit(Player player, FlightData data, double currentBalance, double amount) {
+    private boolean validateDeposit(Player player, double amount) {
+        if (!validateEconomy()) {
+            playerManager.send(player, "economy-unavailable");
+            return false;
+        }
+
+        FlightData data = getSession(player).getData();
+        double currentBalance = data.getBalance();
         int maxLevel = getMaxFlightLevel();
 
         if (data.getMaxUnlockedLevel() >= maxLevel) {
-            playerManager.sendMessage(player, configManager.getMessage("max-level-reached",
-                    Map.of("level", String.valueOf(maxLevel))));
+            playerManager.send(player, "max-level-reached",
+                    Map.of("level", String.valueOf(maxLevel)));
             return false;
         }
 
@@ -252,8 +397,8 @@ public class FlightManager {
         if (newBalance > maxAmount) {
             double maxAmountNeeded = maxAmount - currentBalance;
             if (maxAmountNeeded <= 0) {
-                playerManager.sendMessage(player, configManager.getMessage("max-level-reached",
-                        Map.of("level", String.valueOf(maxLevel))));
+                playerManager.send(player, "max-level-reached",
+                        Map.of("level", String.valueOf(maxLevel)));
                 return false;
             }
 
@@ -261,23 +406,19 @@ public class FlightManager {
                     "amount", NumberFormatter.format(maxAmountNeeded),
                     "currency", economyManager.getCurrencySymbol()
             );
-            playerManager.sendMessage(player, configManager.getMessage("deposit-max-amount-suggestion", placeholders));
+            playerManager.send(player, "deposit-max-amount-suggestion", placeholders);
             return false;
         }
 
-        if (!economyManager.hasEnoughMoney(player, amount)) {
-            return false;
-        }
-
-        return economyManager.withdrawMoney(player, amount);
+        return true;
     }
 
     private void handleLevelUp(Player player, FlightData data, double newBalance) {
         int newLevel = calculateFlightLevel(newBalance);
         if (newLevel > data.getMaxUnlockedLevel()) {
             data.setMaxUnlockedLevel(newLevel);
-            playerManager.sendMessage(player, configManager.getMessage("level-up",
-                    Map.of("level", String.valueOf(newLevel))));
+            playerManager.send(player, "level-up",
+                    Map.of("level", String.valueOf(newLevel)));
         }
     }
 
@@ -291,99 +432,156 @@ public class FlightManager {
                 "balance", NumberFormatter.format(newBalance),
                 "level", String.valueOf(newLevel)
         );
-        playerManager.sendMessage(player, configManager.getMessage("deposit-success", placeholders));
+        playerManager.send(player, "deposit-success", placeholders);
+    }
+
+    private long getValidPausedTime(FlightSession session) {
+        long pausedTime = session.getPausedTime();
+        if (pausedTime <= 0) {
+            pausedTime = session.getData().getPausedTime();
+        }
+        return Math.max(pausedTime, 0);
     }
 
-    private Long getValidPausedTime(UUID playerId) {
-        Long pausedTime = pausedFlightTimes.get(playerId);
-        if (pausedTime == null || pausedTime <= 0) {
-            FlightData data = dataManager.loadPlayerData(playerId);
-            pausedTime = data != null ? data.getPausedTime() : 0L;
+    private void trackActiveFlight(FlightSession session, long endTime) {
+        UUID playerId = session.getPlayer().getUniqueId();
+        session.activate(endTime);
+        flightExpirations.schedule(playerId, endTime);
+        if (actionBarDispatcher != null) {
+            actionBarDispatcher.add(playerId);
+        }
+    }
+
+    private void untrackActiveFlight(UUID playerId) {
+        flightExpirations.cancel(playerId);
+        flightStateReconciler.remove(playerId);
+        actionBarManager.clear(playerId);
+        if (actionBarDispatcher != null) {
+            actionBarDispatcher.remove(playerId);
         }
-        return pausedTime > 0 ? pausedTime : null;
     }
 
     private void startFlightTimer() {
-        this.flightTimerTask = new BukkitRunnable() {
-            @Override
-            public void run() {
-                long currentTime = System.currentTimeMillis();
-                processActiveFlights(currentTime);
-                processPausedFlights();
-            }
-        }.runTaskTimer(plugin, 20L, 20L);
-    }
-
-    private void processActiveFlights(long currentTime) {
-        Iterator<Map.Entry<UUID, Long>> iterator = activeFlightTimes.entrySet().iterator();
-        while (iterator.hasNext()) {
-            Map.Entry<UUID, Long> entry = iterator.next();
-            UUID playerId = entry.getKey();
-            Long endTime = entry.getValue();
-
-            if (currentTime >= endTime) {
-                Player player = Bukkit.getPlayer(playerId);
-                if (player != null && player.isOnline()) {
-                    disableFlight(player);
-                    playerManager.sendMessage(player, configManager.getMessage("flight-time-expired"));
-                }
-                iterator.remove();
-                updateFlightData(playerId, false, 0L, null);
+        this.flightTimerTask = taskScheduler.runTimer(
+                () -> processActiveFlights(System.currentTimeMillis(), Long.MAX_VALUE), 20L, 20L);
+    }
+
+    private void startShardedTimer(int tickBuckets, long budgetNanos) {
+        TickShardedDispatcher dispatcher = new TickShardedDispatcher(tickBuckets, this::sendActionBar);
+        for (Map.Entry<UUID, FlightSession> entry : sessions.entrySet()) {
+            if (entry.getValue().isActive()) {
+                dispatcher.add(entry.getKey());
             }
         }
+        this.actionBarDispatcher = dispatcher;
+
+        // Один таймер на каждый тик: истечения и ActionBar делят общий бюджет времени
+        this.flightTimerTask = taskScheduler.runTimer(() -> {
+            long deadline = System.nanoTime() + budgetNanos;
+            processActiveFlights(System.currentTimeMillis(), deadline);
+            dispatcher.tick(deadline);
+        }, 1L, 1L);
     }
 
-    private void processPausedFlights() {
-        Iterator<Map.Entry<UUID, Long>> iterator = pausedFlightTimes.entrySet().iterator();
-        while (iterator.hasNext()) {
-            Map.Entry<UUID, Long> entry = iterator.next();
-            if (entry.getValue() <= 0) {
-                iterator.remove();
-                updateFlightData(entry.getKey(), null, null, 0L);
-            }
+    private void processActiveFlights(long currentTime, long deadlineNanos) {
+        UUID playerId;
+        while ((deadlineNanos == Long.MAX_VALUE || System.nanoTime() - deadlineNanos < 0)
+                && (playerId = flightExpirations.pollDue(currentTime)) != null) {
+            untrackActiveFlight(playerId);
+
+            FlightSession session = sessions.get(playerId);
+            if (session == null) continue;
+
+            // FlightData меняется только в потоке игрока, вместе с отключением полёта
+            long endTime = session.getFlightEndTime();
+            Player player = session.getPlayer();
+            taskScheduler.runForEntity(player, () -> expireFlight(session, endTime));
         }
     }
 
-    private void updateFlightData(UUID playerId, Boolean flightActive, Long flightEndTime, Long pausedTime) {
-        FlightData data = dataManager.loadPlayerData(playerId);
-        if (data != null) {
-            if (flightActive != null) data.setFlightActive(flightActive);
-            if (flightEndTime != null) data.setFlightEndTime(flightEndTime);
-            if (pausedTime != null) data.setPausedTime(pausedTime);
-            dataManager.savePlayerData(playerId, data);
+    private void expireFlight(FlightSession session, long endTime) {
+        // Полёт успели приостановить или продлить, пока задача ждала своей очереди
+        if (!isSameFlight(session, endTime)) return;
+
+        Player player = session.getPlayer();
+        session.finish(System.currentTimeMillis());
+
+        FlightData data = session.getData();
+        data.setFlightActive(false);
+        data.setFlightEndTime(0);
+        dataManager.savePlayerData(player.getUniqueId(), data);
+        publishSnapshot(session);
+
+        if (player.isOnline()) {
+            disableFlight(player);
+            bossBarManager.hide(player);
+            playerManager.send(player, "flight-time-expired");
         }
     }
 
     private void startActionBarTimer() {
-        this.actionBarTimerTask = new BukkitRunnable() {
-            @Override
-            public void run() {
-                activeFlightTimes.keySet().stream()
-                        .map(Bukkit::getPlayer)
-                        .filter(player -> player != null && player.isOnline())
-                        .forEach(player -> actionBarManager.sendFlightTime(player, activeFlightTimes.get(player.getUniqueId())));
+        // Обходятся только активные полёты из очереди истечений, бездействующие игроки ничего не стоят
+        this.actionBarTimerTask = taskScheduler.runTimer(() -> {
+            UUID[] keys = activeFlightKeys = flightExpirations.copyKeys(activeFlightKeys);
+            for (UUID playerId : keys) {
+                if (playerId == null) break;
+                sendActionBar(playerId);
             }
-        }.runTaskTimer(plugin, 0L, 10L);
+        }, 0L, 10L);
     }
 
-    private void enableFlight(Player player) {
-        // Включаем полёт с задержкой, чтобы Essentials успел завершить свою логику
-        Bukkit.getScheduler().runTaskLater(plugin, () -> {
-            if (!player.getAllowFlight()) {
-                player.setAllowFlight(true);
-            }
+    private void sendActionBar(UUID playerId) {
+        FlightSession session = sessions.get(playerId);
+        if (session != null) {
+            sendActionBar(session);
+        }
+    }
 
-            if (!player.isFlying()) {
-                player.setFlying(true);
+    private void sendActionBar(FlightSession session) {
+        Player player = session.getPlayer();
+        if (session.isActive() && player.isOnline()) {
+            long endTime = session.getFlightEndTime();
+            if (bossBarDisplay) {
+                long duration = getFlightDuration(session.getData());
+                taskScheduler.runForEntity(player, () -> {
+                    if (isSameFlight(session, endTime)) {
+                        bossBarManager.sendFlightTime(player, endTime, duration);
+                    }
+                });
+            } else {
+                taskScheduler.runForEntity(player, () -> {
+                    if (isSameFlight(session, endTime)) {
+                        actionBarManager.sendFlightTime(player, endTime);
+                    }
+                });
             }
+        }
+    }
+
+    // Между планированием и выполнением задачи полёт мог быть приостановлен или завершён
+    private boolean isSameFlight(FlightSession session, long endTime) {
+        return session.isActive() && session.getFlightEndTime() == endTime;
+    }
 
-            Bukkit.getScheduler().runTaskLater(plugin, () -> {
-                if (shouldManageFlight(player) && (!player.getAllowFlight() || !player.isFlying())) {
-                    player.setAllowFlight(true);
-                    player.setFlying(true);
-                }
-            }, 10L);
-        }, 20L);
+    private long getFlightDuration(FlightData data) {
+        FlightTier tier = configManager.getTierTable().getTier(calculateFlightLevel(data.getBalance()));
+        return tier != null ? tier.getDuration() * 1000L : 0L;
+    }
+
+    private void stopTasks() {
+        flightStateReconciler.stop();
+        cancelTask(flightTimerTask);
+        cancelTask(actionBarTimerTask);
+        flightTimerTask = null;
+        actionBarTimerTask = null;
+        if (actionBarDispatcher != null) {
+            actionBarDispatcher.clear();
+            actionBarDispatcher = null;
+        }
+    }
+
+    private void enableFlight(Player player) {
+        flightStateReconciler.enable(player);
     }
 
     public void disableFlight(Player player) {
@@ -394,7 +592,7 @@ public class FlightManager {
     }
 
     public boolean shouldManageFlight(Player player) {
-        return player.getAllowFlight() || activeFlightTimes.containsKey(player.getUniqueId());
+        return player.getAllowFlight() || hasActiveFlight(player.getUniqueId());
     }
 
     private boolean isInCreativeOrSpectator(Player player) {
@@ -402,56 +600,58 @@ public class FlightManager {
                 player.getGameMode() == org.bukkit.GameMode.SPECTATOR;
     }
 
-    private void cancelTask(BukkitTask task) {
+    private void cancelTask(TaskHandle task) {
         if (task != null) {
             task.cancel();
         }
     }
 
-    public Long getRemainingFlightTime(Player player) {
-        UUID playerId = player.getUniqueId();
-        if (activeFlightTimes.containsKey(playerId)) {
-            long endTime = activeFlightTimes.get(playerId);
-            long remaining = endTime - System.currentTimeMillis();
-            return Math.max(remaining, 0);
-        }
-        return 0L;
+    public void updateSpeedLevel(Player player, int speedLevel) {
+        snapshots.computeIfPresent(player.getUniqueId(), (id, snapshot) -> snapshot.withSpeedLevel(speedLevel));
     }
 
-    public int calculateFlightLevel(double balance) {
-        return configManager.getFlightTiers().values().stream()
-                .filter(tier -> balance >= tier.getMinAmount())
-                .mapToInt(FlightTier::getLevel)
-                .max()
-                .orElse(0);
+    public FlightSnapshot getSnapshot(UUID playerId) {
+        return snapshots.get(playerId);
     }
 
-    public double getMaxFlightAmount() {
-        return configManager.getFlightTiers().values().stream()
-                .mapToDouble(FlightTier::getMinAmount)
-                .max()
-                .orElse(0);
+    private void publishSnapshot(FlightSession session) {
+        UUID playerId = session.getPlayer().getUniqueId();
+        FlightSnapshot previous = snapshots.get(playerId);
+        int speedLevel = previous != null ? previous.getSpeedLevel() : 0;
+        // Сессия могла быть удалена, пока шло изменение: снимок выходящего игрока не возвращаем
+        if (sessions.get(playerId) == session) {
+            snapshots.put(playerId, FlightSnapshot.of(session, speedLevel));
+        }
     }
 
-    public int getMaxFlightLevel() {
-        return configManager.getFlightTiers().keySet().stream()
-                .max(Integer::compareTo)
-                .orElse(0);
+    private int resolveSpeedLevel(float flySpeed) {
+        for (Map.Entry<Integer, Float> entry : configManager.getFlightSpeeds().entrySet()) {
+            if (Math.abs(entry.getValue() - flySpeed) < 0.0001f) {
+                return entry.getKey();
+            }
+        }
+        return 0;
+    }
+
+    public long getRemainingFlightTime(Player player) {
+        FlightSession session = sessions.get(player.getUniqueId());
+        return session != null ? session.getRemainingTime(System.currentTimeMillis()) : 0L;
     }
 
-    public boolean hasActiveFlightTimes(UUID playerId) {
-        return activeFlightTimes.containsKey(playerId);
+    public int calculateFlightLevel(double balance) {
+        return configManager.getTierTable().getLevel(balance);
     }
 
-    public long getPausedFlightTime(UUID playerId) {
-        return pausedFlightTimes.getOrDefault(playerId, 0L);
+    public double getMaxFlightAmount() {
+        return configManager.getTierTable().getMaxAmount();
     }
 
-    public Map<UUID, Long> getPausedFlightTimes() {
-        return pausedFlightTimes;
+    public int getMaxFlightLevel() {
+        return configManager.getTierTable().getMaxLevel();
     }
 
-    public void setPausedFlightTime(UUID playerId, long pausedTime) {
-        pausedFlightTimes.put(playerId, pausedTime);
+    public boolean hasActiveFlight(UUID playerId) {
+        FlightSession session = sessions.get(playerId);
+        return session != null && session.isActive();
     }
 }
@@ -0,0 +1,114 @@
+package com.flyaway.flycontroller.managers;
+
+import com.flyaway.flycontroller.FlyPlugin;
+import com.flyaway.flycontroller.scheduler.TaskHandle;
+import com.flyaway.flycontroller.scheduler.TaskScheduler;
+import org.bukkit.entity.Player;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+// Один потиковый проход вместо цепочек отложенных задач: полёт включается повторно,
+// пока не закрепится (Essentials может сбросить его после активации), с растущей паузой между попытками
+public class FlightStateReconciler {
+    private static final long INITIAL_DELAY = 20L; // Даём Essentials завершить свою логику
+    private static final long VERIFY_DELAY = 10L;
+    private static final long MAX_DELAY = 80L;
+    private static final int MAX_ATTEMPTS = 5;
+    private static final int MAX_PER_TICK = 256;
+
+    private final TaskScheduler taskScheduler;
+    private final Predicate<UUID> shouldFly;
+    private final Map<UUID, Entry> entries = new ConcurrentHashMap<>();
+    private TaskHandle task;
+    private volatile long tick;
+
+    public FlightStateReconciler(FlyPlugin plugin, Predicate<UUID> shouldFly) {
+        this.taskScheduler = plugin.getTaskScheduler();
+        this.shouldFly = shouldFly;
+    }
+
+    public void start() {
+        stop();
+        this.task = taskScheduler.runTimer(this::tick, 1L, 1L);
+    }
+
+    public void stop() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+    }
+
+    public void enable(Player player) {
+        entries.put(player.getUniqueId(), new Entry(player, tick + INITIAL_DELAY));
+    }
+
+    public void remove(UUID playerId) {
+        entries.remove(playerId);
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    private void tick() {
+        long now = ++tick;
+        if (entries.isEmpty()) return;
+
+        int dispatched = 0;
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext() && dispatched < MAX_PER_TICK) {
+            Entry entry = iterator.next();
+            if (entry.dueTick > now || entry.running) continue;
+
+            entry.running = true;
+            dispatched++;
+            taskScheduler.runForEntity(entry.player, () -> apply(entry, now), () -> entries.remove(entry.playerId, entry));
+        }
+    }
+
+    private void apply(Entry entry, long now) {
+        Player player = entry.player;
+        if (!player.isOnline() || !shouldFly.test(entry.playerId)) {
+            entries.remove(entry.playerId, entry);
+            return;
+        }
+
+        if (player.getAllowFlight() && player.isFlying()) {
+            // Состояние закрепилось после хотя бы одной проверки
+            if (entry.attempts > 0) {
+                entries.remove(entry.playerId, entry);
+                return;
+            }
+        } else {
+            player.setAllowFlight(true);
+            player.setFlying(true);
+        }
+
+        entry.attempts++;
+        if (entry.attempts > MAX_ATTEMPTS) {
+            entries.remove(entry.playerId, entry);
+            return;
+        }
+        entry.dueTick = now + Math.min(VERIFY_DELAY << (entry.attempts - 1), MAX_DELAY);
+        entry.running = false;
+    }
+
+    private static final class Entry {
+        final Player player;
+        final UUID playerId;
+        volatile long dueTick;
+        volatile boolean running;
+        int attempts;
+
+        Entry(Player player, long dueTick) {
+            this.player = player;
+            this.playerId = player.getUniqueId();
+            this.dueTick = dueTick;
+        }
+    }
+}
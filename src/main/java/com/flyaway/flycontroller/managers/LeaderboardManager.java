@@ -0,0 +1,54 @@
+package com.flyaway.flycontroller.managers;
+
+import com.flyaway.flycontroller.FlyPlugin;
+import com.flyaway.flycontroller.models.FlightData;
+import com.flyaway.flycontroller.utils.LeaderboardIndex;
+
+import java.util.List;
+import java.util.UUID;
+
+// Рейтинг по балансу счёта полётов, поддерживается в памяти без обращений к диску
+public class LeaderboardManager {
+    public static final int PAGE_SIZE = 10;
+
+    private final FlyPlugin plugin;
+    private final DataManager dataManager;
+    private final LeaderboardIndex index = new LeaderboardIndex();
+
+    public LeaderboardManager(FlyPlugin plugin) {
+        this.plugin = plugin;
+        this.dataManager = plugin.getDataManager();
+    }
+
+    // Один последовательный проход по хранилищу при запуске.
+    // Изменения, внесённые во время прохода, не перезаписываются устаревшими данными
+    public void rebuild() {
+        plugin.getTaskScheduler().runAsync(() -> {
+            long start = System.currentTimeMillis();
+            dataManager.forEachStored((playerId, data) ->
+                    index.putIfAbsent(playerId, data.getBalance(), data.getMaxUnlockedLevel()));
+            plugin.getLogger().info("Рейтинг построен: " + index.size() + " игроков за "
+                    + (System.currentTimeMillis() - start) + " мс");
+        });
+    }
+
+    public void update(UUID playerId, FlightData data) {
+        index.update(playerId, data.getBalance(), data.getMaxUnlockedLevel());
+    }
+
+    public int getRank(UUID playerId) {
+        return index.rankOf(playerId);
+    }
+
+    public LeaderboardIndex.Entry getEntry(UUID playerId) {
+        return index.get(playerId);
+    }
+
+    public List<LeaderboardIndex.Entry> getPage(int page) {
+        return index.range((page - 1) * PAGE_SIZE, PAGE_SIZE);
+    }
+
+    public int getPageCount() {
+        return Math.max(1, (index.size() + PAGE_SIZE - 1) / PAGE_SIZE);
+    }
+}
@@ -0,0 +1,319 @@
+package com.flyaway.flycontroller.managers;
+
+import com.flyaway.flycontroller.FlyPlugin;
+import com.flyaway.flycontroller.models.FlightData;
+import com.flyaway.flycontroller.storage.PlayerDataStorage;
+import com.flyaway.flycontroller.storage.StorageType;
+import com.flyaway.flycontroller.storage.YamlStorage;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import org.bukkit.command.CommandSender;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.entity.Player;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class MigrationManager {
+    private static final int BATCH_SIZE = 500;
+    private static final long PROGRESS_INTERVAL = 5000; // 5 секунд между отчётами
+
+    private final FlyPlugin plugin;
+    private final ConfigManager configManager;
+    private final PlayerManager playerManager;
+
+    private volatile Migration current;
+
+    public MigrationManager(FlyPlugin plugin) {
+        this.plugin = plugin;
+        this.configManager = plugin.getConfigManager();
+        this.playerManager = plugin.getPlayerManager();
+    }
+
+    public void startMigration(CommandSender sender, String targetName) {
+        StorageType target = StorageType.fromString(targetName);
+        if (target == null || target == StorageType.YAML) {
+            playerManager.send(sender, "migrate-usage");
+            return;
+        }
+
+        // Источник - папка YAML: при другом активном хранилище она устарела и затёрла бы свежие данные
+        StorageType active = plugin.getDataManager().getStorageType();
+        if (active != StorageType.YAML) {
+            playerManager.send(sender, "migrate-active-storage",
+                    Map.of("active", active.getName()));
+            return;
+        }
+
+        if (current != null) {
+            playerManager.send(sender, "migrate-already-running");
+            return;
+        }
+
+        Migration migration = new Migration(sender, target);
+        this.current = migration;
+        plugin.getTaskScheduler().runAsync(migration::run);
+    }
+
+    public void shutdown() {
+        Migration migration = current;
+        if (migration != null) {
+            migration.cancelled = true;
+            migration.awaitWorkers();
+        }
+    }
+
+    private class Migration {
+        private final CommandSender sender;
+        private final StorageType target;
+        private final File journalFile;
+        private final AtomicLong processed = new AtomicLong();
+        private final AtomicLong skipped = new AtomicLong();
+        private final AtomicInteger failed = new AtomicInteger();
+        private final ThreadPoolExecutor executor;
+        private volatile boolean cancelled;
+
+        private YamlStorage source;
+        private PlayerDataStorage targetStorage;
+        private Map<UUID, Long> journal;
+        private BufferedWriter journalWriter;
+
+        Migration(CommandSender sender, StorageType target) {
+            this.sender = sender;
+            this.target = target;
+            this.journalFile = new File(plugin.getDataFolder(), "migration-" + target.getName() + ".journal");
+
+            int threads = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() - 1));
+            // Ограниченная очередь: при переполнении читающий поток сам обрабатывает пакет
+            this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(threads * 2), new ThreadPoolExecutor.CallerRunsPolicy());
+        }
+
+        void run() {
+            long startTime = System.currentTimeMillis();
+            File sourceFolder = new File(plugin.getDataFolder(), "playerdata");
+
+            try {
+                plugin.getDataManager().flushPending();
+                this.source = new YamlStorage(plugin, sourceFolder);
+                this.targetStorage = target.open(plugin);
+                this.journal = readJournal();
+                this.journalWriter = Files.newBufferedWriter(journalFile.toPath(), StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+
+                send("migrate-started", Map.of(
+                        "target", target.getName(),
+                        "resumed", String.valueOf(journal.size())));
+
+                streamDirectory(sourceFolder.toPath(), startTime);
+                executor.shutdown();
+                executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+
+                if (cancelled) {
+                    plugin.getLogger().warning("Миграция в " + target.getName() + " прервана, её можно продолжить повторным запуском");
+                    return;
+                }
+
+                long elapsed = Math.max(1, System.currentTimeMillis() - startTime);
+                send("migrate-finished", Map.of(
+                        "target", target.getName(),
+                        "count", String.valueOf(processed.get()),
+                        "skipped", String.valueOf(skipped.get()),
+                        "failed", String.valueOf(failed.get()),
+                        "seconds", String.valueOf(elapsed / 1000)));
+            } catch (IOException | SQLException | InterruptedException | RuntimeException e) {
+                plugin.getLogger().warning("Ошибка миграции в " + target.getName() + ": " + e);
+                send("migrate-failed", Map.of("error", String.valueOf(e.getMessage())));
+            } finally {
+                executor.shutdownNow();
+                closeQuietly();
+                current = null;
+            }
+        }
+
+        private void streamDirectory(Path folder, long startTime) throws IOException {
+            long lastReport = startTime;
+            List<PendingFile> chunk = new ArrayList<>(BATCH_SIZE);
+
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(folder, "*.yml")) {
+                for (Path path : stream) {
+                    if (cancelled) return;
+
+                    PendingFile file = toPendingFile(path);
+                    if (file == null) continue;
+
+                    Long migratedAt = journal.get(file.playerId);
+                    if (migratedAt != null && migratedAt == file.modified) {
+                        skipped.incrementAndGet();
+                        continue;
+                    }
+
+                    chunk.add(file);
+                    if (chunk.size() >= BATCH_SIZE) {
+                        submit(chunk);
+                        chunk = new ArrayList<>(BATCH_SIZE);
+                    }
+
+                    long now = System.currentTimeMillis();
+                    if (now - lastReport >= PROGRESS_INTERVAL) {
+                        lastReport = now;
+                        reportProgress(startTime, now);
+                    }
+                }
+            }
+
+            if (!chunk.isEmpty()) {
+                submit(chunk);
+            }
+        }
+
+        private void submit(List<PendingFile> chunk) {
+            executor.execute(() -> {
+                try {
+                    migrateChunk(chunk);
+                } catch (RuntimeException e) {
+                    // Сбой одного пакета не должен молча остановить рабочий поток
+                    plugin.getLogger().warning("Ошибка миграции пакета в " + target.getName() + ": " + e);
+                    failed.addAndGet(chunk.size());
+                }
+            });
+        }
+
+        private void migrateChunk(List<PendingFile> chunk) {
+            if (cancelled) return;
+
+            Map<UUID, FlightData> batch = new HashMap<>(chunk.size() * 2);
+            List<PendingFile> readable = new ArrayList<>(chunk.size());
+            for (PendingFile file : chunk) {
+                try {
+                    batch.put(file.playerId, source.loadStrict(file.playerId));
+                    readable.add(file);
+                } catch (IOException | InvalidConfigurationException e) {
+                    // Повреждённый файл не переносится и не попадает в журнал, повторный запуск попробует снова
+                    plugin.getLogger().warning("Не удалось прочитать данные игрока " + file.playerId + ": " + e.getMessage());
+                    failed.incrementAndGet();
+                }
+            }
+            if (batch.isEmpty()) return;
+
+            Set<UUID> notSaved = targetStorage.saveAll(batch);
+            if (!notSaved.isEmpty()) {
+                failed.addAndGet(notSaved.size());
+                readable.removeIf(file -> notSaved.contains(file.playerId));
+            }
+
+            appendJournal(readable);
+            processed.addAndGet(readable.size());
+        }
+
+        private void reportProgress(long startTime, long now) {
+            long done = processed.get();
+            long elapsedSeconds = Math.max(1, (now - startTime) / 1000);
+            send("migrate-progress", Map.of(
+                    "target", target.getName(),
+                    "count", String.valueOf(done),
+                    "skipped", String.valueOf(skipped.get()),
+                    "rate", String.valueOf(done / elapsedSeconds)));
+        }
+
+        private PendingFile toPendingFile(Path path) {
+            String fileName = path.getFileName().toString();
+            try {
+                UUID playerId = UUID.fromString(fileName.substring(0, fileName.length() - 4));
+                return new PendingFile(playerId, Files.getLastModifiedTime(path).toMillis());
+            } catch (IllegalArgumentException | IOException e) {
+                plugin.getLogger().warning("Пропущен файл данных: " + fileName);
+                return null;
+            }
+        }
+
+        private Map<UUID, Long> readJournal() throws IOException {
+            Map<UUID, Long> entries = new HashMap<>();
+            if (!journalFile.exists()) {
+                return entries;
+            }
+
+            for (String line : Files.readAllLines(journalFile.toPath(), StandardCharsets.UTF_8)) {
+                int separator = line.indexOf(' ');
+                if (separator <= 0) continue;
+                try {
+                    entries.put(UUID.fromString(line.substring(0, separator)), Long.parseLong(line.substring(separator + 1)));
+                } catch (IllegalArgumentException e) {
+                    // Недописанная строка после сбоя - файл будет перенесён заново
+                }
+            }
+            return entries;
+        }
+
+        private synchronized void appendJournal(List<PendingFile> chunk) {
+            try {
+                for (PendingFile file : chunk) {
+                    journalWriter.write(file.playerId + " " + file.modified);
+                    journalWriter.newLine();
+                }
+                journalWriter.flush();
+            } catch (IOException e) {
+                plugin.getLogger().warning("Не удалось записать журнал миграции: " + e.getMessage());
+            }
+        }
+
+        private void awaitWorkers() {
+            executor.shutdown();
+            try {
+                executor.awaitTermination(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private synchronized void closeQuietly() {
+            try {
+                if (journalWriter != null) journalWriter.close();
+            } catch (IOException e) {
+                plugin.getLogger().warning("Не удалось закрыть журнал миграции: " + e.getMessage());
+            }
+            if (source != null) source.close();
+            if (targetStorage != null) targetStorage.close();
+        }
+
+        private void send(String key, Map<String, String> placeholders) {
+            if (sender instanceof Player player) {
+                plugin.getTaskScheduler().runForEntity(player, () -> {
+                    if (player.isOnline()) {
+                        playerManager.send(player, key, placeholders);
+                    }
+                });
+                plugin.getLogger().info(MiniMessage.miniMessage().stripTags(configManager.getMessage(key, placeholders)));
+            } else {
+                plugin.getTaskScheduler().runGlobal(() -> playerManager.send(sender, key, placeholders));
+            }
+        }
+    }
+
+    private static class PendingFile {
+        final UUID playerId;
+        final long modified;
+
+        PendingFile(UUID playerId, long modified) {
+            this.playerId = playerId;
+            this.modified = modified;
+        }
+    }
+}
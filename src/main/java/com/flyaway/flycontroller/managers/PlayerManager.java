@@ -4,21 +4,74 @@ import com.flyaway.flycontroller.FlyPlugin;
 import com.flyaway.flycontroller.commands.FlySpeedCommand;
 import com.flyaway.flycontroller.commands.MFlyCommand;
 import com.flyaway.flycontroller.listeners.PlayerListener;
+import com.flyaway.flycontroller.listeners.WorldListener;
+import com.flyaway.flycontroller.utils.CommandLabelMatcher;
+import com.flyaway.flycontroller.utils.MessageTemplate;
+import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.minimessage.MiniMessage;
+import net.kyori.adventure.text.minimessage.tag.resolver.Placeholder;
+import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
+import org.bukkit.command.Command;
 import org.bukkit.command.CommandSender;
 
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
 public class PlayerManager {
+    private static final Component DISABLED = Component.empty();
+
     private final FlyPlugin plugin;
     private final ConfigManager configManager;
     private final MiniMessage miniMessage = MiniMessage.miniMessage();
 
+    // Разобранные сообщения из конфига, плейсхолдеры остаются текстом {name}
+    private final Map<String, Component> components = new ConcurrentHashMap<>();
+    private volatile Component prefix;
+    private volatile CommandLabelMatcher interceptedCommands;
+
     public PlayerManager(FlyPlugin plugin) {
         this.plugin = plugin;
         this.configManager = plugin.getConfigManager();
+        reload();
+    }
+
+    public void reload() {
+        this.prefix = miniMessage.deserialize(configManager.getPrefix()).append(Component.space());
+        components.clear();
+        resolveInterceptedCommands();
+    }
+
+    // Метки из конфига дополняются всеми псевдонимами той же команды из карты команд сервера
+    public void resolveInterceptedCommands() {
+        Set<String> labels = new HashSet<>();
+        Map<String, Command> knownCommands = plugin.getServer().getCommandMap().getKnownCommands();
+
+        for (String configured : configManager.getInterceptedCommands()) {
+            String label = configured.toLowerCase(Locale.ROOT);
+            labels.add(label);
+
+            Command command = knownCommands.get(label);
+            if (command == null) continue;
+            for (Map.Entry<String, Command> entry : knownCommands.entrySet()) {
+                if (entry.getValue() == command) {
+                    labels.add(entry.getKey());
+                }
+            }
+        }
+
+        this.interceptedCommands = CommandLabelMatcher.of(labels);
+    }
+
+    public boolean isInterceptedCommand(String message) {
+        return interceptedCommands.matches(message);
     }
 
     public void registerListeners() {
         plugin.getServer().getPluginManager().registerEvents(new PlayerListener(plugin), plugin);
+        plugin.getServer().getPluginManager().registerEvents(new WorldListener(plugin), plugin);
     }
 
     public void registerCommands() {
@@ -33,7 +86,40 @@ public class PlayerManager {
 
     public void sendMessage(CommandSender sender, String message) {
         if (message.isEmpty()) return;
-        String prefix = configManager.getPrefix();
-        sender.sendMessage(miniMessage.deserialize(prefix + " " + message));
+        sender.sendMessage(prefix.append(miniMessage.deserialize(message)));
+    }
+
+    public void send(CommandSender sender, String key) {
+        send(sender, key, null);
+    }
+
+    public void send(CommandSender sender, String key, Map<String, String> placeholders) {
+        Component component = getComponent(key);
+        if (component == DISABLED) return;
+
+        if (placeholders != null && !placeholders.isEmpty()) {
+            MessageTemplate template = configManager.getTemplate(key);
+            component = miniMessage.deserialize(template.toMiniMessage(placeholders), resolver(placeholders));
+        }
+        sender.sendMessage(prefix.append(component));
+    }
+
+    public Component getComponent(String key) {
+        return components.computeIfAbsent(key, k -> {
+            String message = configManager.getMessage(k);
+            return message.isEmpty() ? DISABLED : miniMessage.deserialize(message);
+        });
+    }
+
+    private static TagResolver resolver(Map<String, String> placeholders) {
+        TagResolver.Builder builder = TagResolver.builder();
+        for (Map.Entry<String, String> entry : placeholders.entrySet()) {
+            String name = entry.getKey();
+            String value = entry.getValue();
+            if (value == null || !MessageTemplate.isTagName(name)) continue;
+            // Значения вроде названий скоростей могут содержать собственную разметку
+            builder.resolver(value.indexOf('<') >= 0 ? Placeholder.parsed(name, value) : Placeholder.unparsed(name, value));
+        }
+        return builder.build();
     }
 }
@@ -0,0 +1,71 @@
+package com.flyaway.flycontroller.managers;
+
+import com.flyaway.flycontroller.FlyPlugin;
+import com.flyaway.flycontroller.utils.WorldMatcher;
+import org.bukkit.World;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+// Разрешённые миры по UUID: шаблоны сверяются один раз при загрузке мира, а не при каждой проверке
+public class WorldManager {
+    private final FlyPlugin plugin;
+    private final ConfigManager configManager;
+
+    // Шаблоны и найденные по ним миры публикуются вместе, изменения - только под блокировкой
+    private volatile State state;
+
+    public WorldManager(FlyPlugin plugin) {
+        this.plugin = plugin;
+        this.configManager = plugin.getConfigManager();
+        this.state = resolve(configManager.getWorldMatcher());
+    }
+
+    public synchronized void reload() {
+        this.state = resolve(configManager.getWorldMatcher());
+    }
+
+    public synchronized void handleWorldLoad(World world) {
+        State current = state;
+        if (current.matcher.matches(world.getName()) && !current.worlds.contains(world.getUID())) {
+            Set<UUID> worlds = new HashSet<>(current.worlds);
+            worlds.add(world.getUID());
+            this.state = new State(current.matcher, worlds);
+        }
+    }
+
+    public synchronized void handleWorldUnload(World world) {
+        State current = state;
+        if (current.worlds.contains(world.getUID())) {
+            Set<UUID> worlds = new HashSet<>(current.worlds);
+            worlds.remove(world.getUID());
+            this.state = new State(current.matcher, worlds);
+        }
+    }
+
+    public boolean isWorldAllowed(World world) {
+        State current = state;
+        return current.matcher.allowsAll() || current.worlds.contains(world.getUID());
+    }
+
+    private State resolve(WorldMatcher matcher) {
+        Set<UUID> worlds = new HashSet<>();
+        for (World world : plugin.getServer().getWorlds()) {
+            if (matcher.matches(world.getName())) {
+                worlds.add(world.getUID());
+            }
+        }
+        return new State(matcher, worlds);
+    }
+
+    private static final class State {
+        final WorldMatcher matcher;
+        final Set<UUID> worlds;
+
+        State(WorldMatcher matcher, Set<UUID> worlds) {
+            this.matcher = matcher;
+            this.worlds = Set.copyOf(worlds);
+        }
+    }
+}
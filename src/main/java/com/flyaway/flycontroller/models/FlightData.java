@@ -17,6 +17,17 @@ public class FlightData {
         this.pausedTime = 0;
     }
 
+    public FlightData copy() {
+        FlightData copy = new FlightData();
+        copy.balance = balance;
+        copy.maxUnlockedLevel = maxUnlockedLevel;
+        copy.cooldownEnd = cooldownEnd;
+        copy.flightActive = flightActive;
+        copy.flightEndTime = flightEndTime;
+        copy.pausedTime = pausedTime;
+        return copy;
+    }
+
     public double getBalance() {
         return balance;
     }
@@ -0,0 +1,96 @@
+package com.flyaway.flycontroller.models;
+
+import org.bukkit.entity.Player;
+
+public class FlightSession {
+    public enum State {
+        IDLE,
+        ACTIVE,
+        PAUSED,
+        COOLDOWN
+    }
+
+    private final Player player;
+    private final FlightData data;
+    private volatile State state;
+    private volatile long flightEndTime; // Время окончания активного полёта
+    private volatile long pausedTime; // Сохранённое время в миллисекундах
+    private volatile long combatTagEnd; // Окончание боевой метки
+
+    public FlightSession(Player player, FlightData data) {
+        this.player = player;
+        this.data = data;
+        this.pausedTime = Math.max(0, data.getPausedTime());
+        this.state = pausedTime > 0 ? State.PAUSED : idleState(System.currentTimeMillis());
+    }
+
+    public Player getPlayer() {
+        return player;
+    }
+
+    public FlightData getData() {
+        return data;
+    }
+
+    public State getState() {
+        if (state == State.COOLDOWN && data.getCooldownEnd() <= System.currentTimeMillis()) {
+            state = State.IDLE;
+        }
+        return state;
+    }
+
+    public boolean isActive() {
+        return state == State.ACTIVE;
+    }
+
+    public long getFlightEndTime() {
+        return flightEndTime;
+    }
+
+    public long getPausedTime() {
+        return pausedTime;
+    }
+
+    public long getRemainingTime(long now) {
+        return state == State.ACTIVE ? Math.max(flightEndTime - now, 0) : 0;
+    }
+
+    public long getCombatTagRemaining(long now) {
+        return Math.max(combatTagEnd - now, 0);
+    }
+
+    // Возвращает true, если игрок только что вошёл в бой
+    public boolean tagCombat(long now, long tagEnd) {
+        boolean entered = combatTagEnd <= now;
+        this.combatTagEnd = tagEnd;
+        return entered;
+    }
+
+    public void activate(long endTime) {
+        this.state = State.ACTIVE;
+        this.flightEndTime = endTime;
+        this.pausedTime = 0;
+    }
+
+    public void pause(long remainingTime) {
+        this.flightEndTime = 0;
+        this.pausedTime = Math.max(0, remainingTime);
+        this.state = pausedTime > 0 ? State.PAUSED : idleState(System.currentTimeMillis());
+    }
+
+    public void finish(long now) {
+        this.flightEndTime = 0;
+        this.state = pausedTime > 0 ? State.PAUSED : idleState(now);
+    }
+
+    public void setPausedTime(long pausedTime) {
+        this.pausedTime = Math.max(0, pausedTime);
+        if (state != State.ACTIVE) {
+            this.state = this.pausedTime > 0 ? State.PAUSED : idleState(System.currentTimeMillis());
+        }
+    }
+
+    private State idleState(long now) {
+        return data.getCooldownEnd() > now ? State.COOLDOWN : State.IDLE;
+    }
+}
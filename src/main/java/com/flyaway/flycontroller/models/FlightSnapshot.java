@@ -0,0 +1,59 @@
+package com.flyaway.flycontroller.models;
+
+// Неизменяемый снимок состояния игрока для чтения из любых потоков без блокировок
+public final class FlightSnapshot {
+    private final double balance;
+    private final int level;
+    private final long flightEndTime;
+    private final long pausedTime;
+    private final long cooldownEnd;
+    private final int speedLevel;
+
+    public FlightSnapshot(double balance, int level, long flightEndTime, long pausedTime, long cooldownEnd, int speedLevel) {
+        this.balance = balance;
+        this.level = level;
+        this.flightEndTime = flightEndTime;
+        this.pausedTime = pausedTime;
+        this.cooldownEnd = cooldownEnd;
+        this.speedLevel = speedLevel;
+    }
+
+    public static FlightSnapshot of(FlightSession session, int speedLevel) {
+        FlightData data = session.getData();
+        long pausedTime = session.getPausedTime();
+        if (pausedTime <= 0) {
+            pausedTime = data.getPausedTime();
+        }
+        return new FlightSnapshot(data.getBalance(), data.getMaxUnlockedLevel(),
+                session.isActive() ? session.getFlightEndTime() : 0, Math.max(pausedTime, 0),
+                data.getCooldownEnd(), speedLevel);
+    }
+
+    public FlightSnapshot withSpeedLevel(int speedLevel) {
+        return new FlightSnapshot(balance, level, flightEndTime, pausedTime, cooldownEnd, speedLevel);
+    }
+
+    public double getBalance() {
+        return balance;
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    public long getRemainingTime(long now) {
+        return flightEndTime > 0 ? Math.max(flightEndTime - now, 0) : 0;
+    }
+
+    public long getPausedTime() {
+        return pausedTime;
+    }
+
+    public long getCooldownRemaining(long now) {
+        return Math.max(cooldownEnd - now, 0);
+    }
+
+    public int getSpeedLevel() {
+        return speedLevel;
+    }
+}
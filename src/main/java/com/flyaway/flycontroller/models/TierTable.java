@@ -0,0 +1,78 @@
+package com.flyaway.flycontroller.models;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+// Неизменяемый снимок уровней полёта, строится при загрузке конфига
+public class TierTable {
+    private final Map<Integer, FlightTier> tiersByLevel;
+    private final List<FlightTier> sortedByLevel;
+    private final double[] thresholds; // Стоимости по возрастанию
+    private final int[] bestLevels; // Максимальный уровень среди порогов [0..i]
+    private final int maxLevel;
+    private final double maxAmount;
+    private final int maxDuration;
+
+    public TierTable(Map<Integer, FlightTier> tiers) {
+        this.tiersByLevel = Map.copyOf(tiers);
+        this.sortedByLevel = tiers.values().stream()
+                .sorted(Comparator.comparingInt(FlightTier::getLevel))
+                .toList();
+
+        FlightTier[] byCost = tiers.values().toArray(new FlightTier[0]);
+        Arrays.sort(byCost, Comparator.comparingDouble(FlightTier::getMinAmount));
+
+        this.thresholds = new double[byCost.length];
+        this.bestLevels = new int[byCost.length];
+        int best = 0;
+        int longest = 0;
+        for (int i = 0; i < byCost.length; i++) {
+            thresholds[i] = byCost[i].getMinAmount();
+            best = Math.max(best, byCost[i].getLevel());
+            bestLevels[i] = best;
+            longest = Math.max(longest, byCost[i].getDuration());
+        }
+
+        this.maxLevel = sortedByLevel.isEmpty() ? 0 : sortedByLevel.get(sortedByLevel.size() - 1).getLevel();
+        this.maxAmount = thresholds.length == 0 ? 0 : thresholds[thresholds.length - 1];
+        this.maxDuration = longest;
+    }
+
+    public int getLevel(double balance) {
+        int low = 0;
+        int high = thresholds.length - 1;
+        int found = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (thresholds[mid] <= balance) {
+                found = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return found < 0 ? 0 : bestLevels[found];
+    }
+
+    public FlightTier getTier(int level) {
+        return tiersByLevel.get(level);
+    }
+
+    public List<FlightTier> getTiersByLevel() {
+        return sortedByLevel;
+    }
+
+    public int getMaxLevel() {
+        return maxLevel;
+    }
+
+    public double getMaxAmount() {
+        return maxAmount;
+    }
+
+    public int getMaxDuration() {
+        return maxDuration;
+    }
+}
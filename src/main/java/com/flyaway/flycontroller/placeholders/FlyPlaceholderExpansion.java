@@ -0,0 +1,70 @@
+package com.flyaway.flycontroller.placeholders;
+
+import com.flyaway.flycontroller.FlyPlugin;
+import com.flyaway.flycontroller.managers.ConfigManager;
+import com.flyaway.flycontroller.managers.FlightManager;
+import com.flyaway.flycontroller.models.FlightSnapshot;
+import com.flyaway.flycontroller.utils.NumberFormatter;
+import com.flyaway.flycontroller.utils.TimeFormatter;
+import me.clip.placeholderapi.expansion.PlaceholderExpansion;
+import org.bukkit.OfflinePlayer;
+import org.jetbrains.annotations.NotNull;
+
+// %flycontroller_<параметр>%: значения берутся только из снимков FlightManager, без обращений к диску
+public class FlyPlaceholderExpansion extends PlaceholderExpansion {
+    private final FlyPlugin plugin;
+    private final ConfigManager configManager;
+    private final FlightManager flightManager;
+
+    public FlyPlaceholderExpansion(FlyPlugin plugin) {
+        this.plugin = plugin;
+        this.configManager = plugin.getConfigManager();
+        this.flightManager = plugin.getFlightManager();
+    }
+
+    @Override
+    public @NotNull String getIdentifier() {
+        return "flycontroller";
+    }
+
+    @Override
+    public @NotNull String getAuthor() {
+        return String.join(", ", plugin.getPluginMeta().getAuthors());
+    }
+
+    @Override
+    public @NotNull String getVersion() {
+        return plugin.getPluginMeta().getVersion();
+    }
+
+    @Override
+    public boolean persist() {
+        return true;
+    }
+
+    @Override
+    public String onRequest(OfflinePlayer player, @NotNull String params) {
+        if (player == null) return "";
+
+        // Снимка нет у игроков не в сети
+        FlightSnapshot snapshot = flightManager.getSnapshot(player.getUniqueId());
+        long now = System.currentTimeMillis();
+
+        switch (params) {
+            case "remaining":
+                return snapshot != null ? TimeFormatter.formatTime(snapshot.getRemainingTime(now), configManager) : "0";
+            case "level":
+                return snapshot != null ? String.valueOf(snapshot.getLevel()) : "0";
+            case "balance":
+                return NumberFormatter.format(snapshot != null ? snapshot.getBalance() : 0);
+            case "cooldown":
+                return snapshot != null ? TimeFormatter.formatTime(snapshot.getCooldownRemaining(now), configManager) : "0";
+            case "paused":
+                return snapshot != null ? TimeFormatter.formatTime(snapshot.getPausedTime(), configManager) : "0";
+            case "speed":
+                return snapshot != null ? String.valueOf(snapshot.getSpeedLevel()) : "0";
+            default:
+                return null;
+        }
+    }
+}
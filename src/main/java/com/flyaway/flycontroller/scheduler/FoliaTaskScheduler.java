@@ -0,0 +1,65 @@
+package com.flyaway.flycontroller.scheduler;
+
+import com.flyaway.flycontroller.FlyPlugin;
+import io.papermc.paper.threadedregions.scheduler.ScheduledTask;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Entity;
+
+import java.util.concurrent.TimeUnit;
+
+public class FoliaTaskScheduler implements TaskScheduler {
+    private static final long TICK_MILLIS = 50L;
+
+    private final FlyPlugin plugin;
+
+    public FoliaTaskScheduler(FlyPlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public TaskHandle runTimer(Runnable task, long delayTicks, long periodTicks) {
+        ScheduledTask scheduledTask = Bukkit.getGlobalRegionScheduler()
+                .runAtFixedRate(plugin, t -> task.run(), Math.max(1L, delayTicks), periodTicks);
+        return scheduledTask::cancel;
+    }
+
+    @Override
+    public void runGlobal(Runnable task) {
+        if (Bukkit.isGlobalTickThread()) {
+            task.run();
+        } else {
+            Bukkit.getGlobalRegionScheduler().execute(plugin, task);
+        }
+    }
+
+    @Override
+    public void runAsync(Runnable task) {
+        Bukkit.getAsyncScheduler().runNow(plugin, t -> task.run());
+    }
+
+    @Override
+    public TaskHandle runAsyncTimer(Runnable task, long delayTicks, long periodTicks) {
+        ScheduledTask scheduledTask = Bukkit.getAsyncScheduler().runAtFixedRate(plugin, t -> task.run(),
+                Math.max(1L, delayTicks) * TICK_MILLIS, periodTicks * TICK_MILLIS, TimeUnit.MILLISECONDS);
+        return scheduledTask::cancel;
+    }
+
+    @Override
+    public void runForEntity(Entity entity, Runnable task) {
+        runForEntity(entity, task, null);
+    }
+
+    @Override
+    public void runForEntity(Entity entity, Runnable task, Runnable retired) {
+        if (Bukkit.isOwnedByCurrentRegion(entity)) {
+            task.run();
+        } else if (entity.getScheduler().run(plugin, t -> task.run(), retired) == null && retired != null) {
+            retired.run();
+        }
+    }
+
+    @Override
+    public void runForEntityLater(Entity entity, Runnable task, long delayTicks) {
+        entity.getScheduler().runDelayed(plugin, t -> task.run(), null, Math.max(1L, delayTicks));
+    }
+}
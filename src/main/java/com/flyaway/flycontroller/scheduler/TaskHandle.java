@@ -0,0 +1,6 @@
+package com.flyaway.flycontroller.scheduler;
+
+public interface TaskHandle {
+
+    void cancel();
+}
@@ -0,0 +1,37 @@
+package com.flyaway.flycontroller.scheduler;
+
+import com.flyaway.flycontroller.FlyPlugin;
+import org.bukkit.entity.Entity;
+
+public interface TaskScheduler {
+
+    // Глобальный таймер: основной поток на Paper, глобальный регион на Folia
+    TaskHandle runTimer(Runnable task, long delayTicks, long periodTicks);
+
+    void runGlobal(Runnable task);
+
+    void runAsync(Runnable task);
+
+    TaskHandle runAsyncTimer(Runnable task, long delayTicks, long periodTicks);
+
+    // Задачи, изменяющие игрока, выполняются в потоке региона, которому он принадлежит
+    void runForEntity(Entity entity, Runnable task);
+
+    // retired выполняется, если сущность удалена раньше, чем задача успела запуститься (только Folia)
+    void runForEntity(Entity entity, Runnable task, Runnable retired);
+
+    void runForEntityLater(Entity entity, Runnable task, long delayTicks);
+
+    static TaskScheduler create(FlyPlugin plugin) {
+        return isFolia() ? new FoliaTaskScheduler(plugin) : new BukkitTaskScheduler(plugin);
+    }
+
+    static boolean isFolia() {
+        try {
+            Class.forName("io.papermc.paper.threadedregions.RegionizedServer");
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.flyaway.flycontroller.storage;
+
+import com.flyaway.flycontroller.FlyPlugin;
+import com.flyaway.flycontroller.models.FlightData;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+
+// Все игроки в одном memory-mapped файле из записей фиксированного размера.
+// Заголовок: magic, версия, количество записей
+public class BinaryStorage implements PlayerDataStorage {
+    private static final int MAGIC = 0x464C5944; // "FLYD"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 16;
+    private static final int COUNT_OFFSET = 8;
+    private static final int RECORD_SIZE = 64;
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int SCAN_PAGE_SIZE = 1024;
+
+    // Смещения полей внутри записи
+    private static final int UUID_MOST = 0;
+    private static final int UUID_LEAST = 8;
+    private static final int BALANCE = 16;
+    private static final int COOLDOWN_END = 24;
+    private static final int FLIGHT_END_TIME = 32;
+    private static final int PAUSED_TIME = 40;
+    private static final int MAX_UNLOCKED_LEVEL = 48;
+    private static final int FLIGHT_ACTIVE = 52;
+
+    private final FlyPlugin plugin;
+    private final FileChannel channel;
+    private final UuidSlotIndex index;
+    private MappedByteBuffer buffer;
+    private int capacity;
+    private int count;
+
+    public BinaryStorage(FlyPlugin plugin, File file) throws IOException {
+        this.plugin = plugin;
+        file.getParentFile().mkdirs();
+        this.channel = FileChannel.open(file.toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        long size = channel.size();
+        if (size < HEADER_SIZE) {
+            this.capacity = INITIAL_CAPACITY;
+            map();
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(4, VERSION);
+            buffer.putInt(COUNT_OFFSET, 0);
+            this.count = 0;
+        } else {
+            this.capacity = (int) Math.max(INITIAL_CAPACITY, (size - HEADER_SIZE) / RECORD_SIZE);
+            map();
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+                channel.close();
+                throw new IOException("Неверный формат файла " + file.getName());
+            }
+            this.count = Math.min(buffer.getInt(COUNT_OFFSET), capacity);
+        }
+
+        this.index = new UuidSlotIndex(count);
+        for (int slot = 0; slot < count; slot++) {
+            int offset = offset(slot);
+            index.put(buffer.getLong(offset + UUID_MOST), buffer.getLong(offset + UUID_LEAST), slot);
+        }
+    }
+
+    @Override
+    public synchronized FlightData load(UUID playerId) {
+        int slot = index.get(playerId.getMostSignificantBits(), playerId.getLeastSignificantBits());
+        if (slot < 0) {
+            return new FlightData();
+        }
+        return read(slot);
+    }
+
+    // Записи копируются страницами, блокировка между страницами отпускается для загрузки и записи
+    @Override
+    public void forEach(BiConsumer<UUID, FlightData> consumer) {
+        List<UUID> pageIds = new ArrayList<>(SCAN_PAGE_SIZE);
+        List<FlightData> pageData = new ArrayList<>(SCAN_PAGE_SIZE);
+
+        for (int start = 0; ; start += SCAN_PAGE_SIZE) {
+            synchronized (this) {
+                int end = Math.min(count, start + SCAN_PAGE_SIZE);
+                for (int slot = start; slot < end; slot++) {
+                    int offset = offset(slot);
+                    pageIds.add(new UUID(buffer.getLong(offset + UUID_MOST), buffer.getLong(offset + UUID_LEAST)));
+                    pageData.add(read(slot));
+                }
+            }
+            if (pageIds.isEmpty()) return;
+
+            for (int i = 0; i < pageIds.size(); i++) {
+                consumer.accept(pageIds.get(i), pageData.get(i));
+            }
+            pageIds.clear();
+            pageData.clear();
+        }
+    }
+
+    private FlightData read(int slot) {
+        FlightData data = new FlightData();
+        int offset = offset(slot);
+        data.setBalance(buffer.getDouble(offset + BALANCE));
+        data.setMaxUnlockedLevel(buffer.getInt(offset + MAX_UNLOCKED_LEVEL));
+        data.setCooldownEnd(buffer.getLong(offset + COOLDOWN_END));
+        data.setFlightActive(buffer.get(offset + FLIGHT_ACTIVE) != 0);
+        data.setFlightEndTime(buffer.getLong(offset + FLIGHT_END_TIME));
+        data.setPausedTime(buffer.getLong(offset + PAUSED_TIME));
+        return data;
+    }
+
+    @Override
+    public synchronized Set<UUID> saveAll(Map<UUID, FlightData> batch) {
+        if (batch.isEmpty()) return Set.of();
+
+        // Ошибка возможна только при расширении файла под новых игроков, уже известные записываются
+        Set<UUID> failed = new HashSet<>();
+        IOException error = null;
+        for (Map.Entry<UUID, FlightData> entry : batch.entrySet()) {
+            try {
+                write(entry.getKey(), entry.getValue());
+            } catch (IOException e) {
+                failed.add(entry.getKey());
+                error = e;
+            }
+        }
+        buffer.putInt(COUNT_OFFSET, count);
+        buffer.force();
+
+        if (error != null) {
+            plugin.getLogger().warning("Не удалось сохранить данные игроков (" + failed.size() + "): " + error.getMessage());
+        }
+        return failed;
+    }
+
+    @Override
+    public synchronized void close() {
+        try {
+            buffer.force();
+            channel.close();
+        } catch (IOException e) {
+            plugin.getLogger().warning("Ошибка при закрытии файла данных: " + e.getMessage());
+        }
+    }
+
+    private void write(UUID playerId, FlightData data) throws IOException {
+        long most = playerId.getMostSignificantBits();
+        long least = playerId.getLeastSignificantBits();
+
+        int slot = index.get(most, least);
+        if (slot < 0) {
+            slot = append(most, least);
+        }
+
+        int offset = offset(slot);
+        buffer.putDouble(offset + BALANCE, data.getBalance());
+        buffer.putInt(offset + MAX_UNLOCKED_LEVEL, data.getMaxUnlockedLevel());
+        buffer.putLong(offset + COOLDOWN_END, data.getCooldownEnd());
+        buffer.put(offset + FLIGHT_ACTIVE, (byte) (data.isFlightActive() ? 1 : 0));
+        buffer.putLong(offset + FLIGHT_END_TIME, data.getFlightEndTime());
+        buffer.putLong(offset + PAUSED_TIME, data.getPausedTime());
+    }
+
+    private int append(long most, long least) throws IOException {
+        if (count >= capacity) {
+            buffer.force();
+            capacity *= 2;
+            map();
+        }
+
+        int slot = count++;
+        int offset = offset(slot);
+        buffer.putLong(offset + UUID_MOST, most);
+        buffer.putLong(offset + UUID_LEAST, least);
+        index.put(most, least, slot);
+        return slot;
+    }
+
+    private void map() throws IOException {
+        this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (long) capacity * RECORD_SIZE);
+    }
+
+    private static int offset(int slot) {
+        return HEADER_SIZE + slot * RECORD_SIZE;
+    }
+}
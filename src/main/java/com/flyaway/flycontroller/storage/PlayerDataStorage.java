@@ -0,0 +1,21 @@
+package com.flyaway.flycontroller.storage;
+
+import com.flyaway.flycontroller.models.FlightData;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+
+public interface PlayerDataStorage {
+
+    FlightData load(UUID playerId);
+
+    // Возвращает игроков, чьи данные записать не удалось; пустое множество - всё записано
+    Set<UUID> saveAll(Map<UUID, FlightData> batch);
+
+    // Последовательный обход всех сохранённых игроков
+    void forEach(BiConsumer<UUID, FlightData> consumer);
+
+    void close();
+}
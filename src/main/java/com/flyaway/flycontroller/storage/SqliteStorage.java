@@ -0,0 +1,171 @@
+package com.flyaway.flycontroller.storage;
+
+import com.flyaway.flycontroller.FlyPlugin;
+import com.flyaway.flycontroller.models.FlightData;
+
+import java.io.File;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+
+public class SqliteStorage implements PlayerDataStorage {
+    private static final String CREATE_TABLE = "CREATE TABLE IF NOT EXISTS flight_data (" +
+            "uuid TEXT PRIMARY KEY, " +
+            "balance REAL NOT NULL DEFAULT 0, " +
+            "max_unlocked_level INTEGER NOT NULL DEFAULT 0, " +
+            "cooldown_end INTEGER NOT NULL DEFAULT 0, " +
+            "flight_active INTEGER NOT NULL DEFAULT 0, " +
+            "flight_end_time INTEGER NOT NULL DEFAULT 0, " +
+            "paused_time INTEGER NOT NULL DEFAULT 0)";
+    private static final String SELECT = "SELECT balance, max_unlocked_level, cooldown_end, flight_active, " +
+            "flight_end_time, paused_time FROM flight_data WHERE uuid = ?";
+    private static final String SELECT_ALL = "SELECT uuid, balance, max_unlocked_level, cooldown_end, flight_active, " +
+            "flight_end_time, paused_time FROM flight_data";
+    private static final String UPSERT = "INSERT INTO flight_data " +
+            "(uuid, balance, max_unlocked_level, cooldown_end, flight_active, flight_end_time, paused_time) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?) ON CONFLICT(uuid) DO UPDATE SET " +
+            "balance = excluded.balance, " +
+            "max_unlocked_level = excluded.max_unlocked_level, " +
+            "cooldown_end = excluded.cooldown_end, " +
+            "flight_active = excluded.flight_active, " +
+            "flight_end_time = excluded.flight_end_time, " +
+            "paused_time = excluded.paused_time";
+
+    private final FlyPlugin plugin;
+    private final String url;
+    private final Connection connection;
+    private final PreparedStatement selectStatement;
+    private final PreparedStatement upsertStatement;
+
+    public SqliteStorage(FlyPlugin plugin, File databaseFile) throws SQLException {
+        this.plugin = plugin;
+        this.url = "jdbc:sqlite:" + databaseFile.getAbsolutePath();
+        this.connection = DriverManager.getConnection(url);
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("PRAGMA journal_mode=WAL");
+            statement.execute("PRAGMA synchronous=NORMAL");
+            statement.execute(CREATE_TABLE);
+        }
+
+        this.selectStatement = connection.prepareStatement(SELECT);
+        this.upsertStatement = connection.prepareStatement(UPSERT);
+    }
+
+    @Override
+    public synchronized FlightData load(UUID playerId) {
+        FlightData data = new FlightData();
+
+        try {
+            selectStatement.setString(1, playerId.toString());
+            try (ResultSet resultSet = selectStatement.executeQuery()) {
+                if (resultSet.next()) {
+                    data.setBalance(resultSet.getDouble(1));
+                    data.setMaxUnlockedLevel(resultSet.getInt(2));
+                    data.setCooldownEnd(resultSet.getLong(3));
+                    data.setFlightActive(resultSet.getInt(4) != 0);
+                    data.setFlightEndTime(resultSet.getLong(5));
+                    data.setPausedTime(resultSet.getLong(6));
+                }
+            }
+        } catch (SQLException e) {
+            plugin.getLogger().warning("Не удалось загрузить данные игрока " + playerId + ": " + e.getMessage());
+        }
+
+        return data;
+    }
+
+    @Override
+    public synchronized Set<UUID> saveAll(Map<UUID, FlightData> batch) {
+        if (batch.isEmpty()) return Set.of();
+
+        try {
+            connection.setAutoCommit(false);
+            for (Map.Entry<UUID, FlightData> entry : batch.entrySet()) {
+                FlightData data = entry.getValue();
+                upsertStatement.setString(1, entry.getKey().toString());
+                upsertStatement.setDouble(2, data.getBalance());
+                upsertStatement.setInt(3, data.getMaxUnlockedLevel());
+                upsertStatement.setLong(4, data.getCooldownEnd());
+                upsertStatement.setInt(5, data.isFlightActive() ? 1 : 0);
+                upsertStatement.setLong(6, data.getFlightEndTime());
+                upsertStatement.setLong(7, data.getPausedTime());
+                upsertStatement.addBatch();
+            }
+            upsertStatement.executeBatch();
+            connection.commit();
+            return Set.of();
+        } catch (SQLException e) {
+            plugin.getLogger().warning("Не удалось сохранить данные игроков (" + batch.size() + "): " + e.getMessage());
+            // Транзакция откатывается целиком
+            rollback();
+            return new HashSet<>(batch.keySet());
+        } finally {
+            resetAutoCommit();
+        }
+    }
+
+    // Отдельное соединение только для чтения: в режиме WAL полный проход не мешает загрузке и записи
+    @Override
+    public void forEach(BiConsumer<UUID, FlightData> consumer) {
+        try (Connection readConnection = DriverManager.getConnection(url);
+             Statement statement = readConnection.createStatement();
+             ResultSet resultSet = statement.executeQuery(SELECT_ALL)) {
+            while (resultSet.next()) {
+                UUID playerId;
+                try {
+                    playerId = UUID.fromString(resultSet.getString(1));
+                } catch (IllegalArgumentException e) {
+                    continue;
+                }
+
+                FlightData data = new FlightData();
+                data.setBalance(resultSet.getDouble(2));
+                data.setMaxUnlockedLevel(resultSet.getInt(3));
+                data.setCooldownEnd(resultSet.getLong(4));
+                data.setFlightActive(resultSet.getInt(5) != 0);
+                data.setFlightEndTime(resultSet.getLong(6));
+                data.setPausedTime(resultSet.getLong(7));
+                consumer.accept(playerId, data);
+            }
+        } catch (SQLException e) {
+            plugin.getLogger().warning("Не удалось прочитать данные игроков: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        try {
+            selectStatement.close();
+            upsertStatement.close();
+            connection.close();
+        } catch (SQLException e) {
+            plugin.getLogger().warning("Ошибка при закрытии базы данных: " + e.getMessage());
+        }
+    }
+
+    private void rollback() {
+        try {
+            upsertStatement.clearBatch();
+            connection.rollback();
+        } catch (SQLException e) {
+            plugin.getLogger().warning("Ошибка при откате транзакции: " + e.getMessage());
+        }
+    }
+
+    private void resetAutoCommit() {
+        try {
+            connection.setAutoCommit(true);
+        } catch (SQLException e) {
+            plugin.getLogger().warning("Ошибка базы данных: " + e.getMessage());
+        }
+    }
+}
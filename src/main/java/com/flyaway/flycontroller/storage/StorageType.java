@@ -0,0 +1,45 @@
+package com.flyaway.flycontroller.storage;
+
+import com.flyaway.flycontroller.FlyPlugin;
+
+import java.io.File;
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.Locale;
+
+public enum StorageType {
+    YAML {
+        @Override
+        public PlayerDataStorage open(FlyPlugin plugin) {
+            return new YamlStorage(plugin, new File(plugin.getDataFolder(), "playerdata"));
+        }
+    },
+    SQLITE {
+        @Override
+        public PlayerDataStorage open(FlyPlugin plugin) throws SQLException {
+            return new SqliteStorage(plugin, new File(plugin.getDataFolder(), "playerdata.db"));
+        }
+    },
+    BINARY {
+        @Override
+        public PlayerDataStorage open(FlyPlugin plugin) throws IOException {
+            return new BinaryStorage(plugin, new File(plugin.getDataFolder(), "playerdata.bin"));
+        }
+    };
+
+    public abstract PlayerDataStorage open(FlyPlugin plugin) throws IOException, SQLException;
+
+    public String getName() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    public static StorageType fromString(String name) {
+        if (name == null) return null;
+        for (StorageType type : values()) {
+            if (type.getName().equalsIgnoreCase(name)) {
+                return type;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,91 @@
+package com.flyaway.flycontroller.storage;
+
+import java.util.Arrays;
+
+// Открытая хеш-таблица UUID -> номер записи без упаковки ключей и значений
+final class UuidSlotIndex {
+    private static final int EMPTY = -1;
+
+    private long[] mostBits;
+    private long[] leastBits;
+    private int[] slots;
+    private int mask;
+    private int size;
+
+    UuidSlotIndex(int expectedSize) {
+        allocate(tableSizeFor(Math.max(expectedSize, 16) * 2));
+    }
+
+    int get(long most, long least) {
+        int i = hash(most, least) & mask;
+        while (slots[i] != EMPTY) {
+            if (mostBits[i] == most && leastBits[i] == least) {
+                return slots[i];
+            }
+            i = (i + 1) & mask;
+        }
+        return EMPTY;
+    }
+
+    void put(long most, long least, int slot) {
+        if ((size + 1) * 2 > slots.length) {
+            resize();
+        }
+        if (insert(most, least, slot)) {
+            size++;
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    private boolean insert(long most, long least, int slot) {
+        int i = hash(most, least) & mask;
+        while (slots[i] != EMPTY) {
+            if (mostBits[i] == most && leastBits[i] == least) {
+                slots[i] = slot;
+                return false;
+            }
+            i = (i + 1) & mask;
+        }
+        mostBits[i] = most;
+        leastBits[i] = least;
+        slots[i] = slot;
+        return true;
+    }
+
+    private void resize() {
+        long[] oldMost = mostBits;
+        long[] oldLeast = leastBits;
+        int[] oldSlots = slots;
+
+        allocate(oldSlots.length * 2);
+        for (int i = 0; i < oldSlots.length; i++) {
+            if (oldSlots[i] != EMPTY) {
+                insert(oldMost[i], oldLeast[i], oldSlots[i]);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        this.mostBits = new long[capacity];
+        this.leastBits = new long[capacity];
+        this.slots = new int[capacity];
+        this.mask = capacity - 1;
+        Arrays.fill(slots, EMPTY);
+    }
+
+    private static int hash(long most, long least) {
+        long h = most ^ least;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return (int) h;
+    }
+
+    private static int tableSizeFor(int capacity) {
+        int n = Integer.highestOneBit(capacity - 1) << 1;
+        return Math.max(n, 16);
+    }
+}
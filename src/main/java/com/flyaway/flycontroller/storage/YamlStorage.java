@@ -0,0 +1,203 @@
+package com.flyaway.flycontroller.storage;
+
+import com.flyaway.flycontroller.FlyPlugin;
+import com.flyaway.flycontroller.models.FlightData;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+
+public class YamlStorage implements PlayerDataStorage {
+    private static final int PARALLEL_THRESHOLD = 64;
+    private static final int MAX_WRITERS = 4;
+
+    private final FlyPlugin plugin;
+    private final File dataFolder;
+    private final int writers;
+    // Один пул на хранилище: потоки создаются при крупной записи и завершаются после простоя
+    private final ThreadPoolExecutor writerPool;
+
+    public YamlStorage(FlyPlugin plugin, File dataFolder) {
+        this.plugin = plugin;
+        this.dataFolder = dataFolder;
+        if (!dataFolder.exists()) {
+            dataFolder.mkdirs();
+        }
+
+        this.writers = Math.min(MAX_WRITERS, Runtime.getRuntime().availableProcessors());
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.writerPool = new ThreadPoolExecutor(writers, writers, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "FlyController-yaml-writer-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        writerPool.allowCoreThreadTimeOut(true);
+    }
+
+    @Override
+    public FlightData load(UUID playerId) {
+        File playerFile = getPlayerFile(playerId);
+        if (!playerFile.exists()) {
+            return new FlightData();
+        }
+
+        return read(YamlConfiguration.loadConfiguration(playerFile));
+    }
+
+    // Для миграции: повреждённый файл даёт ошибку, а не пустые данные с нулевым балансом
+    public FlightData loadStrict(UUID playerId) throws IOException, InvalidConfigurationException {
+        File playerFile = getPlayerFile(playerId);
+        if (!playerFile.exists()) {
+            throw new FileNotFoundException(playerFile.getName());
+        }
+
+        YamlConfiguration config = new YamlConfiguration();
+        config.load(playerFile);
+        return read(config);
+    }
+
+    private FlightData read(FileConfiguration config) {
+        FlightData data = new FlightData();
+        data.setBalance(config.getDouble("balance", 0));
+        data.setMaxUnlockedLevel(config.getInt("maxUnlockedLevel", 0));
+        data.setCooldownEnd(config.getLong("cooldownEnd", 0));
+        data.setFlightActive(config.getBoolean("flightActive", false));
+        data.setFlightEndTime(config.getLong("flightEndTime", 0));
+        data.setPausedTime(config.getLong("pausedTime", 0));
+
+        return data;
+    }
+
+    @Override
+    public Set<UUID> saveAll(Map<UUID, FlightData> batch) {
+        Set<UUID> failed = new HashSet<>();
+        if (batch.size() < PARALLEL_THRESHOLD || writers < 2) {
+            for (Map.Entry<UUID, FlightData> entry : batch.entrySet()) {
+                if (!save(entry.getKey(), entry.getValue())) {
+                    failed.add(entry.getKey());
+                }
+            }
+            return failed;
+        }
+
+        // Крупные пакеты (массовый выход, выключение сервера) пишутся в несколько потоков
+        List<UUID> submitted = new ArrayList<>(batch.size());
+        List<Future<Boolean>> results = new ArrayList<>(batch.size());
+        Set<UUID> written = new HashSet<>();
+        try {
+            for (Map.Entry<UUID, FlightData> entry : batch.entrySet()) {
+                results.add(writerPool.submit(() -> save(entry.getKey(), entry.getValue())));
+                submitted.add(entry.getKey());
+            }
+
+            for (int i = 0; i < results.size(); i++) {
+                UUID playerId = submitted.get(i);
+                try {
+                    if (results.get(i).get()) {
+                        written.add(playerId);
+                    } else {
+                        failed.add(playerId);
+                    }
+                } catch (ExecutionException e) {
+                    plugin.getLogger().warning("Ошибка при сохранении данных игрока " + playerId + ": " + e.getCause());
+                    failed.add(playerId);
+                }
+            }
+            return failed;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return notWritten(batch, written);
+        } catch (RejectedExecutionException e) {
+            plugin.getLogger().warning("Хранилище закрыто, данные игроков не сохранены: " + (batch.size() - submitted.size()));
+            return notWritten(batch, written);
+        } finally {
+            // Прерванная запись не должна продолжаться в фоне
+            for (Future<Boolean> result : results) {
+                result.cancel(true);
+            }
+        }
+    }
+
+    // Незавершённые записи считаются неудачными и останутся в очереди
+    private static Set<UUID> notWritten(Map<UUID, FlightData> batch, Set<UUID> written) {
+        Set<UUID> failed = new HashSet<>(batch.keySet());
+        failed.removeAll(written);
+        return failed;
+    }
+
+    @Override
+    public void forEach(BiConsumer<UUID, FlightData> consumer) {
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dataFolder.toPath(), "*.yml")) {
+            for (Path path : stream) {
+                String fileName = path.getFileName().toString();
+                UUID playerId;
+                try {
+                    playerId = UUID.fromString(fileName.substring(0, fileName.length() - 4));
+                } catch (IllegalArgumentException e) {
+                    continue;
+                }
+                consumer.accept(playerId, load(playerId));
+            }
+        } catch (IOException e) {
+            plugin.getLogger().warning("Не удалось прочитать папку данных игроков: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() {
+        writerPool.shutdownNow();
+    }
+
+    private boolean save(UUID playerId, FlightData data) {
+        File playerFile = getPlayerFile(playerId);
+        FileConfiguration config = new YamlConfiguration();
+
+        config.set("balance", data.getBalance());
+        config.set("maxUnlockedLevel", data.getMaxUnlockedLevel());
+        config.set("cooldownEnd", data.getCooldownEnd());
+        config.set("flightActive", data.isFlightActive());
+        config.set("flightEndTime", data.getFlightEndTime());
+        config.set("pausedTime", data.getPausedTime());
+
+        // Запись во временный файл и замена: обрыв записи не повредит прежние данные
+        File tempFile = new File(dataFolder, playerId + ".yml.tmp");
+        try {
+            config.save(tempFile);
+            try {
+                Files.move(tempFile.toPath(), playerFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile.toPath(), playerFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+            return true;
+        } catch (IOException e) {
+            plugin.getLogger().warning("Не удалось сохранить данные игрока: " + playerId);
+            return false;
+        }
+    }
+
+    private File getPlayerFile(UUID playerId) {
+        return new File(dataFolder, playerId.toString() + ".yml");
+    }
+}
@@ -0,0 +1,66 @@
+package com.flyaway.flycontroller.utils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+
+// Проверка первой метки команды без выделения памяти: метки сгруппированы по длине
+public final class CommandLabelMatcher {
+    private final String[][] labelsByLength;
+
+    private CommandLabelMatcher(String[][] labelsByLength) {
+        this.labelsByLength = labelsByLength;
+    }
+
+    public static CommandLabelMatcher of(Collection<String> labels) {
+        int maxLength = 0;
+        for (String label : labels) {
+            maxLength = Math.max(maxLength, label.length());
+        }
+
+        List<List<String>> grouped = new ArrayList<>();
+        for (int i = 0; i <= maxLength; i++) {
+            grouped.add(new ArrayList<>());
+        }
+        for (String label : labels) {
+            String normalized = label.toLowerCase(Locale.ROOT);
+            if (!normalized.isEmpty() && !grouped.get(normalized.length()).contains(normalized)) {
+                grouped.get(normalized.length()).add(normalized);
+            }
+        }
+
+        String[][] labelsByLength = new String[maxLength + 1][];
+        for (int i = 0; i <= maxLength; i++) {
+            labelsByLength[i] = grouped.get(i).toArray(new String[0]);
+        }
+        return new CommandLabelMatcher(labelsByLength);
+    }
+
+    public boolean matches(String message) {
+        int length = message.length();
+        int start = 0;
+        while (start < length && Character.isWhitespace(message.charAt(start))) {
+            start++;
+        }
+        if (start < length && message.charAt(start) == '/') {
+            start++;
+        }
+
+        int end = start;
+        while (end < length && message.charAt(end) != ' ') {
+            end++;
+        }
+
+        int labelLength = end - start;
+        if (labelLength >= labelsByLength.length) {
+            return false;
+        }
+        for (String label : labelsByLength[labelLength]) {
+            if (message.regionMatches(true, start, label, 0, labelLength)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,140 @@
+package com.flyaway.flycontroller.utils;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+// Индексированная min-куча по времени окончания: выдаёт только наступившие сроки,
+// отмена и перенос за O(log n). Потокобезопасна: на Folia вызывается из разных регионов
+public class DeadlineScheduler {
+    private Entry[] heap = new Entry[64];
+    // Позиция хранится в самой записи: перестановки в куче не трогают карту и не создают объектов
+    private final Map<UUID, Entry> entries = new HashMap<>();
+    private int size;
+
+    public synchronized void schedule(UUID key, long deadline) {
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            long previous = entry.deadline;
+            entry.deadline = deadline;
+            if (deadline < previous) {
+                siftUp(entry.index);
+            } else {
+                siftDown(entry.index);
+            }
+            return;
+        }
+
+        if (size == heap.length) {
+            heap = Arrays.copyOf(heap, size * 2);
+        }
+        entry = new Entry(key, deadline);
+        entries.put(key, entry);
+        heap[size] = entry;
+        siftUp(size++);
+    }
+
+    public synchronized boolean cancel(UUID key) {
+        Entry entry = entries.remove(key);
+        if (entry == null) {
+            return false;
+        }
+        removeAt(entry.index);
+        return true;
+    }
+
+    public synchronized UUID pollDue(long now) {
+        if (size == 0 || heap[0].deadline > now) {
+            return null;
+        }
+        Entry entry = heap[0];
+        entries.remove(entry.key);
+        removeAt(0);
+        return entry.key;
+    }
+
+    // Ключи копируются в переданный массив, новый создаётся только если места не хватает.
+    // После последнего ключа стоит null. Обход идёт без удержания блокировки
+    public synchronized UUID[] copyKeys(UUID[] target) {
+        if (target == null || target.length < size) {
+            target = new UUID[heap.length];
+        }
+        for (int i = 0; i < size; i++) {
+            target[i] = heap[i].key;
+        }
+        for (int i = size; i < target.length && target[i] != null; i++) {
+            target[i] = null;
+        }
+        return target;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public synchronized boolean isEmpty() {
+        return size == 0;
+    }
+
+    public synchronized void clear() {
+        Arrays.fill(heap, 0, size, null);
+        entries.clear();
+        size = 0;
+    }
+
+    private void removeAt(int position) {
+        int last = --size;
+        if (position != last) {
+            place(heap[last], position);
+            heap[last] = null;
+            siftDown(position);
+            siftUp(position);
+        } else {
+            heap[last] = null;
+        }
+    }
+
+    private void siftUp(int position) {
+        Entry entry = heap[position];
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            if (heap[parent].deadline <= entry.deadline) break;
+            place(heap[parent], position);
+            position = parent;
+        }
+        place(entry, position);
+    }
+
+    private void siftDown(int position) {
+        Entry entry = heap[position];
+        int half = size >>> 1;
+        while (position < half) {
+            int child = 2 * position + 1;
+            int right = child + 1;
+            if (right < size && heap[right].deadline < heap[child].deadline) {
+                child = right;
+            }
+            if (entry.deadline <= heap[child].deadline) break;
+            place(heap[child], position);
+            position = child;
+        }
+        place(entry, position);
+    }
+
+    private void place(Entry entry, int position) {
+        heap[position] = entry;
+        entry.index = position;
+    }
+
+    private static final class Entry {
+        final UUID key;
+        long deadline;
+        int index;
+
+        Entry(UUID key, long deadline) {
+            this.key = key;
+            this.deadline = deadline;
+        }
+    }
+}
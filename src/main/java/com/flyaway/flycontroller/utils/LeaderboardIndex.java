@@ -0,0 +1,242 @@
+package com.flyaway.flycontroller.utils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+// Упорядоченный индекс балансов: декартово дерево с размерами поддеревьев.
+// Порядок - баланс по убыванию, при равенстве - UUID. Место и страница за O(log n)
+public final class LeaderboardIndex {
+    private final Map<UUID, Node> nodes = new HashMap<>();
+    private Node root;
+    private long seed = 0x9E3779B97F4A7C15L;
+
+    public synchronized void update(UUID playerId, double balance, int level) {
+        Node current = nodes.get(playerId);
+        if (current != null && current.balance == balance && current.level == level) {
+            return;
+        }
+        if (current != null) {
+            root = erase(root, current);
+            nodes.remove(playerId);
+        }
+        if (balance > 0) {
+            insert(new Node(playerId, balance, level, nextPriority()));
+        }
+    }
+
+    // Для начального построения: не перезаписывает более свежие данные
+    public synchronized void putIfAbsent(UUID playerId, double balance, int level) {
+        if (balance > 0 && !nodes.containsKey(playerId)) {
+            insert(new Node(playerId, balance, level, nextPriority()));
+        }
+    }
+
+    public synchronized void remove(UUID playerId) {
+        Node current = nodes.remove(playerId);
+        if (current != null) {
+            root = erase(root, current);
+        }
+    }
+
+    // Место игрока начиная с 1, 0 - игрока нет в рейтинге
+    public synchronized int rankOf(UUID playerId) {
+        Node target = nodes.get(playerId);
+        if (target == null) return 0;
+
+        int before = 0;
+        Node node = root;
+        while (node != null) {
+            int cmp = compare(target, node);
+            if (cmp == 0) {
+                return before + size(node.left) + 1;
+            }
+            if (cmp < 0) {
+                node = node.left;
+            } else {
+                before += size(node.left) + 1;
+                node = node.right;
+            }
+        }
+        return 0;
+    }
+
+    public synchronized Entry get(UUID playerId) {
+        return nodes.get(playerId);
+    }
+
+    public synchronized List<Entry> range(int from, int count) {
+        int to = Math.min(size(root), from + count);
+        List<Entry> result = new ArrayList<>(Math.max(0, to - from));
+        for (int i = Math.max(0, from); i < to; i++) {
+            result.add(select(i));
+        }
+        return result;
+    }
+
+    public synchronized int size() {
+        return size(root);
+    }
+
+    public synchronized void clear() {
+        nodes.clear();
+        root = null;
+    }
+
+    private void insert(Node node) {
+        nodes.put(node.playerId, node);
+        root = insert(root, node);
+    }
+
+    private Node insert(Node node, Node inserted) {
+        if (node == null) return inserted;
+
+        if (inserted.priority > node.priority) {
+            split(node, inserted);
+            inserted.size = 1 + size(inserted.left) + size(inserted.right);
+            return inserted;
+        }
+
+        if (compare(inserted, node) < 0) {
+            node.left = insert(node.left, inserted);
+        } else {
+            node.right = insert(node.right, inserted);
+        }
+        node.size++;
+        return node;
+    }
+
+    // Делит поддерево по ключу pivot: меньшие уходят влево, большие - вправо
+    private void split(Node node, Node pivot) {
+        Node left = null;
+        Node right = null;
+        Node leftTail = null;
+        Node rightTail = null;
+
+        List<Node> touched = new ArrayList<>();
+        while (node != null) {
+            touched.add(node);
+            if (compare(node, pivot) < 0) {
+                if (leftTail == null) left = node; else leftTail.right = node;
+                leftTail = node;
+                node = node.right;
+            } else {
+                if (rightTail == null) right = node; else rightTail.left = node;
+                rightTail = node;
+                node = node.left;
+            }
+        }
+        if (leftTail != null) leftTail.right = null;
+        if (rightTail != null) rightTail.left = null;
+
+        // Размеры пересчитываются снизу вверх
+        for (int i = touched.size() - 1; i >= 0; i--) {
+            Node changed = touched.get(i);
+            changed.size = 1 + size(changed.left) + size(changed.right);
+        }
+
+        pivot.left = left;
+        pivot.right = right;
+    }
+
+    private Node erase(Node node, Node target) {
+        if (node == null) return null;
+
+        if (node == target) {
+            return merge(node.left, node.right);
+        }
+
+        if (compare(target, node) < 0) {
+            node.left = erase(node.left, target);
+        } else {
+            node.right = erase(node.right, target);
+        }
+        node.size = 1 + size(node.left) + size(node.right);
+        return node;
+    }
+
+    private Node merge(Node left, Node right) {
+        if (left == null) return right;
+        if (right == null) return left;
+
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            left.size = 1 + size(left.left) + size(left.right);
+            return left;
+        }
+        right.left = merge(left, right.left);
+        right.size = 1 + size(right.left) + size(right.right);
+        return right;
+    }
+
+    private Node select(int index) {
+        Node node = root;
+        while (node != null) {
+            int leftSize = size(node.left);
+            if (index < leftSize) {
+                node = node.left;
+            } else if (index == leftSize) {
+                return node;
+            } else {
+                index -= leftSize + 1;
+                node = node.right;
+            }
+        }
+        return null;
+    }
+
+    private int nextPriority() {
+        // xorshift: приоритеты нужны только случайные, не криптостойкие
+        seed ^= seed << 13;
+        seed ^= seed >>> 7;
+        seed ^= seed << 17;
+        return (int) (seed >>> 32);
+    }
+
+    private static int compare(Node a, Node b) {
+        int cmp = Double.compare(b.balance, a.balance);
+        return cmp != 0 ? cmp : a.playerId.compareTo(b.playerId);
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    public static class Entry {
+        final UUID playerId;
+        final double balance;
+        final int level;
+
+        Entry(UUID playerId, double balance, int level) {
+            this.playerId = playerId;
+            this.balance = balance;
+            this.level = level;
+        }
+
+        public UUID getPlayerId() {
+            return playerId;
+        }
+
+        public double getBalance() {
+            return balance;
+        }
+
+        public int getLevel() {
+            return level;
+        }
+    }
+
+    private static final class Node extends Entry {
+        final int priority;
+        Node left;
+        Node right;
+        int size = 1;
+
+        Node(UUID playerId, double balance, int level, int priority) {
+            super(playerId, balance, level);
+            this.priority = priority;
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.flyaway.flycontroller.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+// Сообщение, заранее разобранное на текстовые части и плейсхолдеры {name}
+public final class MessageTemplate {
+    private static final int PLACEHOLDER_ESTIMATE = 16;
+
+    private final String[] literals; // На одну часть больше, чем плейсхолдеров
+    private final String[] names;
+    private final boolean[] insideTag; // Плейсхолдер стоит в аргументе тега MiniMessage, например в click
+    private final char[] quotes; // Кавычка этого аргумента, 0 - без кавычек
+    private final int literalLength;
+
+    private MessageTemplate(String[] literals, String[] names, boolean[] insideTag, char[] quotes) {
+        this.literals = literals;
+        this.names = names;
+        this.insideTag = insideTag;
+        this.quotes = quotes;
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    public static MessageTemplate compile(String message) {
+        if (message == null) message = "";
+
+        int end = message.length();
+        while (end > 0 && Character.isWhitespace(message.charAt(end - 1))) {
+            end--;
+        }
+
+        List<String> literals = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        List<Character> insideTag = new ArrayList<>(); // null - вне тега
+        StringBuilder current = new StringBuilder();
+
+        boolean inTag = false;
+        char quote = 0;
+        int i = 0;
+        while (i < end) {
+            char c = message.charAt(i);
+            if (c == '{') {
+                int close = message.indexOf('}', i + 1);
+                if (close > i + 1 && close < end && isName(message, i + 1, close)) {
+                    literals.add(current.toString());
+                    current.setLength(0);
+                    names.add(message.substring(i + 1, close));
+                    insideTag.add(inTag ? quote : null);
+                    i = close + 1;
+                    continue;
+                }
+            }
+
+            if (!inTag) {
+                inTag = c == '<' && (i == 0 || message.charAt(i - 1) != '\\');
+            } else if (quote != 0) {
+                if (c == '\\' && i + 1 < end) {
+                    current.append(c);
+                    c = message.charAt(++i);
+                } else if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == '\'' || c == '"') {
+                quote = c;
+            } else if (c == '>') {
+                inTag = false;
+            }
+            current.append(c);
+            i++;
+        }
+        literals.add(current.toString());
+
+        boolean[] flags = new boolean[insideTag.size()];
+        char[] quotes = new char[insideTag.size()];
+        for (int j = 0; j < flags.length; j++) {
+            Character tagQuote = insideTag.get(j);
+            flags[j] = tagQuote != null;
+            quotes[j] = tagQuote != null ? tagQuote : 0;
+        }
+        return new MessageTemplate(literals.toArray(new String[0]), names.toArray(new String[0]), flags, quotes);
+    }
+
+    public String render(Map<String, String> placeholders) {
+        if (names.length == 0) return literals[0];
+
+        StringBuilder builder = new StringBuilder(literalLength + names.length * PLACEHOLDER_ESTIMATE);
+        for (int i = 0; i < names.length; i++) {
+            builder.append(literals[i]);
+            appendValue(builder, names[i], placeholders != null ? placeholders.get(names[i]) : null);
+        }
+        return builder.append(literals[names.length]).toString();
+    }
+
+    public String render(String name, String value) {
+        return render(name, value, null, null);
+    }
+
+    public String render(String firstName, String firstValue, String secondName, String secondValue) {
+        if (names.length == 0) return literals[0];
+
+        StringBuilder builder = new StringBuilder(literalLength + names.length * PLACEHOLDER_ESTIMATE);
+        for (int i = 0; i < names.length; i++) {
+            builder.append(literals[i]);
+            String name = names[i];
+            String value = name.equals(firstName) ? firstValue : name.equals(secondName) ? secondValue : null;
+            appendValue(builder, name, value);
+        }
+        return builder.append(literals[names.length]).toString();
+    }
+
+    // Строка для MiniMessage: плейсхолдеры в тексте становятся тегами <name> и подставляются через TagResolver,
+    // в аргументах тегов (click, hover) MiniMessage теги не разбирает, туда значение вставляется экранированным
+    public String toMiniMessage(Map<String, String> placeholders) {
+        if (names.length == 0) return literals[0];
+
+        StringBuilder builder = new StringBuilder(literalLength + names.length * PLACEHOLDER_ESTIMATE);
+        for (int i = 0; i < names.length; i++) {
+            builder.append(literals[i]);
+            String name = names[i];
+            String value = placeholders != null ? placeholders.get(name) : null;
+            if (value == null) {
+                appendValue(builder, name, null);
+            } else if (insideTag[i]) {
+                appendEscaped(builder, value, quotes[i] != 0 ? "\\" + quotes[i] : "");
+            } else if (isTagName(name)) {
+                builder.append('<').append(name).append('>');
+            } else {
+                appendEscaped(builder, value, "\\<");
+            }
+        }
+        return builder.append(literals[names.length]).toString();
+    }
+
+    // Имя, допустимое для тега MiniMessage
+    public static boolean isTagName(String name) {
+        if (name.isEmpty()) return false;
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (!(c >= 'a' && c <= 'z') && !(c >= '0' && c <= '9') && c != '_' && c != '-') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void appendEscaped(StringBuilder builder, String value, String special) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (special.indexOf(c) >= 0) {
+                builder.append('\\');
+            }
+            builder.append(c);
+        }
+    }
+
+    private static void appendValue(StringBuilder builder, String name, String value) {
+        if (value != null) {
+            builder.append(value);
+        } else {
+            // Неизвестный плейсхолдер остаётся в тексте как есть
+            builder.append('{').append(name).append('}');
+        }
+    }
+
+    private static boolean isName(String message, int start, int end) {
+        for (int i = start; i < end; i++) {
+            char c = message.charAt(i);
+            if (!Character.isLetterOrDigit(c) && c != '_' && c != '-' && c != '.') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -6,35 +6,52 @@ import java.util.Locale;
 
 public class NumberFormatter {
 
-    private static final DecimalFormat FORMATTER;
+    private static final int CACHED_PRECISIONS = 8;
+    private static final DecimalFormatSymbols SYMBOLS;
+
+    // DecimalFormat не потокобезопасен, поэтому у каждого потока свои экземпляры
+    private static final ThreadLocal<DecimalFormat> FORMATTER;
+    private static final ThreadLocal<DecimalFormat[]> PRECISION_FORMATTERS =
+            ThreadLocal.withInitial(() -> new DecimalFormat[CACHED_PRECISIONS]);
 
     static {
         DecimalFormatSymbols symbols = new DecimalFormatSymbols(Locale.getDefault());
         symbols.setGroupingSeparator(' ');
+        SYMBOLS = symbols;
 
-        FORMATTER = new DecimalFormat("#,###.##", symbols);
-        FORMATTER.setGroupingSize(3);
-        FORMATTER.setGroupingUsed(true);
+        FORMATTER = ThreadLocal.withInitial(() -> createFormatter("#,###.##"));
     }
 
     public static String format(double number) {
-        return FORMATTER.format(number);
+        return FORMATTER.get().format(number);
     }
 
     public static String format(double number, int decimalPlaces) {
-        if (decimalPlaces == 0) {
-            DecimalFormat noDecimalFormatter = new DecimalFormat("#,###", FORMATTER.getDecimalFormatSymbols());
-            noDecimalFormatter.setGroupingSize(3);
-            return noDecimalFormatter.format(number);
+        if (decimalPlaces >= CACHED_PRECISIONS) {
+            return createFormatter(pattern(decimalPlaces)).format(number);
         }
 
-        String pattern = "#,###." + "0".repeat(decimalPlaces);
-        DecimalFormat customFormatter = new DecimalFormat(pattern, FORMATTER.getDecimalFormatSymbols());
-        customFormatter.setGroupingSize(3);
-        return customFormatter.format(number);
+        DecimalFormat[] formatters = PRECISION_FORMATTERS.get();
+        DecimalFormat formatter = formatters[decimalPlaces];
+        if (formatter == null) {
+            formatter = createFormatter(pattern(decimalPlaces));
+            formatters[decimalPlaces] = formatter;
+        }
+        return formatter.format(number);
     }
 
     public static String formatWithCurrency(double number, String currencySymbol) {
         return format(number) + currencySymbol;
     }
+
+    private static String pattern(int decimalPlaces) {
+        return decimalPlaces <= 0 ? "#,###" : "#,###." + "0".repeat(decimalPlaces);
+    }
+
+    private static DecimalFormat createFormatter(String pattern) {
+        DecimalFormat formatter = new DecimalFormat(pattern, SYMBOLS);
+        formatter.setGroupingSize(3);
+        formatter.setGroupingUsed(true);
+        return formatter;
+    }
 }
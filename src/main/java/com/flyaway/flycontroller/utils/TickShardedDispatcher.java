@@ -0,0 +1,74 @@
+package com.flyaway.flycontroller.utils;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+// Раскладывает игроков по N корзинам по хешу UUID: за тик обрабатывается одна корзина.
+// Что не уложилось в бюджет тика, переносится на следующий тик
+public class TickShardedDispatcher {
+    private final List<Set<UUID>> buckets;
+    private final Set<UUID> carry = new LinkedHashSet<>();
+    private final Consumer<UUID> handler;
+    private int tick;
+
+    public TickShardedDispatcher(int bucketCount, Consumer<UUID> handler) {
+        this.buckets = new ArrayList<>(bucketCount);
+        for (int i = 0; i < bucketCount; i++) {
+            buckets.add(new HashSet<>());
+        }
+        this.handler = handler;
+    }
+
+    public synchronized void add(UUID playerId) {
+        bucketOf(playerId).add(playerId);
+    }
+
+    public synchronized void remove(UUID playerId) {
+        bucketOf(playerId).remove(playerId);
+        carry.remove(playerId);
+    }
+
+    public synchronized void tick(long deadlineNanos) {
+        Set<UUID> bucket = buckets.get(tick);
+        tick = (tick + 1) % buckets.size();
+
+        Iterator<UUID> carried = carry.iterator();
+        while (carried.hasNext()) {
+            if (isOverBudget(deadlineNanos)) {
+                carry.addAll(bucket);
+                return;
+            }
+            UUID playerId = carried.next();
+            carried.remove();
+            handler.accept(playerId);
+        }
+
+        boolean overBudget = false;
+        for (UUID playerId : bucket) {
+            if (overBudget || (overBudget = isOverBudget(deadlineNanos))) {
+                carry.add(playerId);
+            } else {
+                handler.accept(playerId);
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        buckets.forEach(Set::clear);
+        carry.clear();
+    }
+
+    private Set<UUID> bucketOf(UUID playerId) {
+        return buckets.get(Math.floorMod(playerId.hashCode(), buckets.size()));
+    }
+
+    private static boolean isOverBudget(long deadlineNanos) {
+        return System.nanoTime() - deadlineNanos >= 0;
+    }
+}
@@ -2,18 +2,46 @@ package com.flyaway.flycontroller.utils;
 
 import com.flyaway.flycontroller.managers.ConfigManager;
 
-import java.util.Map;
-
 public class TimeFormatter {
+    private static final int CACHED_SECONDS = 3600;
+
+    // Готовые строки для первого часа, сбрасываются при смене шаблона time-format
+    private static volatile Cache cache = new Cache(null);
+
     public static String formatTime(long milliseconds, ConfigManager configManager) {
         if (milliseconds <= 0) return "0";
-        long minutes = milliseconds / 60000;
-        long seconds = (milliseconds % 60000) / 1000;
-
-        Map<String, String> timePlaceholders = Map.of(
-                "minutes", String.valueOf(minutes),
-                "seconds", String.valueOf(seconds)
-        );
-        return configManager.getMessage("time-format", timePlaceholders);
+        long totalSeconds = milliseconds / 1000;
+
+        MessageTemplate template = configManager.getTemplate("time-format");
+        if (totalSeconds >= CACHED_SECONDS) {
+            return render(template, totalSeconds);
+        }
+
+        Cache current = cache;
+        if (current.template != template) {
+            current = new Cache(template);
+            cache = current;
+        }
+
+        int index = (int) totalSeconds;
+        String formatted = current.values[index];
+        if (formatted == null) {
+            formatted = render(template, totalSeconds);
+            current.values[index] = formatted;
+        }
+        return formatted;
+    }
+
+    private static String render(MessageTemplate template, long totalSeconds) {
+        return template.render("minutes", String.valueOf(totalSeconds / 60), "seconds", String.valueOf(totalSeconds % 60));
+    }
+
+    private static final class Cache {
+        final MessageTemplate template;
+        final String[] values = new String[CACHED_SECONDS];
+
+        Cache(MessageTemplate template) {
+            this.template = template;
+        }
     }
 }
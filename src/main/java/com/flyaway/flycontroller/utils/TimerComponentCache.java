@@ -0,0 +1,44 @@
+package com.flyaway.flycontroller.utils;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextReplacementConfig;
+
+import java.util.regex.Pattern;
+
+// Компоненты таймера {minutes}:{seconds}, по одному на каждую секунду до самого длинного уровня
+public final class TimerComponentCache {
+    private static final Pattern TIME_PLACEHOLDER = Pattern.compile("\\{(minutes|seconds)}");
+
+    private final Component template;
+    private final Component[] rendered;
+
+    public TimerComponentCache(Component template, int maxSeconds) {
+        this.template = template;
+        this.rendered = new Component[Math.max(0, maxSeconds) + 1];
+    }
+
+    public Component get(long totalSeconds) {
+        if (totalSeconds >= rendered.length) {
+            return render(totalSeconds);
+        }
+
+        int index = (int) totalSeconds;
+        Component component = rendered[index];
+        if (component == null) {
+            component = render(totalSeconds);
+            rendered[index] = component;
+        }
+        return component;
+    }
+
+    private Component render(long totalSeconds) {
+        String minutes = String.valueOf(totalSeconds / 60);
+        long seconds = totalSeconds % 60;
+        String secondsText = seconds < 10 ? "0" + seconds : String.valueOf(seconds);
+
+        return template.replaceText(TextReplacementConfig.builder()
+                .match(TIME_PLACEHOLDER)
+                .replacement((match, builder) -> builder.content(match.group(1).equals("minutes") ? minutes : secondsText))
+                .build());
+    }
+}
@@ -0,0 +1,78 @@
+package com.flyaway.flycontroller.utils;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+// Список разрешённых миров: точные имена, маски с * и ? или регулярные выражения с префиксом regex:
+public final class WorldMatcher {
+    private static final String REGEX_PREFIX = "regex:";
+
+    private final Set<String> names;
+    private final List<Pattern> patterns;
+
+    private WorldMatcher(Set<String> names, List<Pattern> patterns) {
+        this.names = names;
+        this.patterns = patterns;
+    }
+
+    public static WorldMatcher compile(List<String> entries, Consumer<String> invalidEntry) {
+        Set<String> names = new HashSet<>();
+        List<Pattern> patterns = new ArrayList<>();
+
+        for (String entry : entries) {
+            try {
+                if (entry.startsWith(REGEX_PREFIX)) {
+                    patterns.add(Pattern.compile(entry.substring(REGEX_PREFIX.length())));
+                } else if (entry.indexOf('*') >= 0 || entry.indexOf('?') >= 0) {
+                    patterns.add(Pattern.compile(globToRegex(entry)));
+                } else {
+                    names.add(entry);
+                }
+            } catch (PatternSyntaxException e) {
+                invalidEntry.accept(entry);
+            }
+        }
+
+        return new WorldMatcher(Set.copyOf(names), List.copyOf(patterns));
+    }
+
+    public boolean allowsAll() {
+        return names.isEmpty() && patterns.isEmpty();
+    }
+
+    public boolean matches(String worldName) {
+        if (allowsAll() || names.contains(worldName)) {
+            return true;
+        }
+        for (Pattern pattern : patterns) {
+            if (pattern.matcher(worldName).matches()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String globToRegex(String glob) {
+        StringBuilder regex = new StringBuilder(glob.length() + 8);
+        int literalStart = 0;
+        for (int i = 0; i < glob.length(); i++) {
+            char c = glob.charAt(i);
+            if (c == '*' || c == '?') {
+                if (i > literalStart) {
+                    regex.append(Pattern.quote(glob.substring(literalStart, i)));
+                }
+                regex.append(c == '*' ? ".*" : ".");
+                literalStart = i + 1;
+            }
+        }
+        if (literalStart < glob.length()) {
+            regex.append(Pattern.quote(glob.substring(literalStart)));
+        }
+        return regex.toString();
+    }
+}
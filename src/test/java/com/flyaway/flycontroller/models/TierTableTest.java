@@ -0,0 +1,73 @@
+package com.flyaway.flycontroller.models;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class TierTableTest {
+
+    @Test
+    void levelIsHighestThresholdReached() {
+        TierTable table = table(
+                new FlightTier(1, 100, 60),
+                new FlightTier(2, 500, 300),
+                new FlightTier(3, 1000, 900));
+
+        assertEquals(0, table.getLevel(99.99));
+        assertEquals(1, table.getLevel(100));
+        assertEquals(1, table.getLevel(499));
+        assertEquals(2, table.getLevel(500));
+        assertEquals(3, table.getLevel(1_000_000));
+    }
+
+    @Test
+    void cheaperHigherLevelWins() {
+        // Уровень 3 дешевле уровня 2: баланс выше порога уровня 2 всё равно даёт 3
+        TierTable table = table(
+                new FlightTier(1, 100, 60),
+                new FlightTier(2, 800, 300),
+                new FlightTier(3, 500, 600));
+
+        assertEquals(1, table.getLevel(400));
+        assertEquals(3, table.getLevel(500));
+        assertEquals(3, table.getLevel(900));
+    }
+
+    @Test
+    void summaryValues() {
+        TierTable table = table(
+                new FlightTier(2, 500, 900),
+                new FlightTier(1, 100, 60),
+                new FlightTier(3, 1000, 300));
+
+        assertEquals(3, table.getMaxLevel());
+        assertEquals(1000.0, table.getMaxAmount());
+        assertEquals(900, table.getMaxDuration());
+        assertEquals(List.of(1, 2, 3), table.getTiersByLevel().stream().map(FlightTier::getLevel).toList());
+        assertEquals(500.0, table.getTier(2).getMinAmount());
+        assertNull(table.getTier(4));
+    }
+
+    @Test
+    void emptyTable() {
+        TierTable table = table();
+
+        assertEquals(0, table.getLevel(1_000));
+        assertEquals(0, table.getMaxLevel());
+        assertEquals(0.0, table.getMaxAmount());
+        assertEquals(0, table.getMaxDuration());
+    }
+
+    private static TierTable table(FlightTier... tiers) {
+        Map<Integer, FlightTier> byLevel = new HashMap<>();
+        for (FlightTier tier : tiers) {
+            byLevel.put(tier.getLevel(), tier);
+        }
+        return new TierTable(byLevel);
+    }
+}
@@ -0,0 +1,113 @@
+package com.flyaway.flycontroller.storage;
+
+import com.flyaway.flycontroller.models.FlightData;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BinaryStorageTest {
+    @TempDir
+    Path folder;
+
+    @Test
+    void missingPlayerLoadsEmptyData() throws IOException {
+        BinaryStorage storage = open();
+        FlightData data = storage.load(UUID.randomUUID());
+        storage.close();
+
+        assertEquals(0.0, data.getBalance());
+        assertFalse(data.isFlightActive());
+    }
+
+    @Test
+    void recordSurvivesReopen() throws IOException {
+        UUID playerId = UUID.randomUUID();
+        BinaryStorage storage = open();
+        assertTrue(storage.saveAll(Map.of(playerId, data(1250.5, 3, true))).isEmpty());
+        storage.close();
+
+        storage = open();
+        FlightData loaded = storage.load(playerId);
+        storage.close();
+
+        assertEquals(1250.5, loaded.getBalance());
+        assertEquals(3, loaded.getMaxUnlockedLevel());
+        assertEquals(1_000L, loaded.getCooldownEnd());
+        assertTrue(loaded.isFlightActive());
+        assertEquals(2_000L, loaded.getFlightEndTime());
+        assertEquals(3_000L, loaded.getPausedTime());
+    }
+
+    @Test
+    void overwriteReusesSlot() throws IOException {
+        UUID playerId = UUID.randomUUID();
+        BinaryStorage storage = open();
+        storage.saveAll(Map.of(playerId, data(10, 1, false)));
+        storage.saveAll(Map.of(playerId, data(20, 2, false)));
+
+        int[] records = new int[1];
+        storage.forEach((id, data) -> records[0]++);
+        FlightData loaded = storage.load(playerId);
+        storage.close();
+
+        assertEquals(1, records[0]);
+        assertEquals(20.0, loaded.getBalance());
+    }
+
+    @Test
+    void growsPastInitialCapacity() throws IOException {
+        Map<UUID, FlightData> batch = new HashMap<>();
+        for (int i = 0; i < 3_000; i++) {
+            batch.put(new UUID(i, i), data(i + 1, i % 5, false));
+        }
+
+        BinaryStorage storage = open();
+        assertTrue(storage.saveAll(batch).isEmpty());
+        storage.close();
+
+        storage = open();
+        Map<UUID, Double> balances = new HashMap<>();
+        storage.forEach((id, data) -> balances.put(id, data.getBalance()));
+        storage.close();
+
+        assertEquals(batch.size(), balances.size());
+        for (Map.Entry<UUID, FlightData> entry : batch.entrySet()) {
+            assertEquals(entry.getValue().getBalance(), (double) balances.get(entry.getKey()));
+        }
+    }
+
+    @Test
+    void rejectsForeignFile() throws IOException {
+        File file = folder.resolve("players.dat").toFile();
+        Files.write(file.toPath(), new byte[64]);
+
+        assertThrows(IOException.class, () -> new BinaryStorage(null, file));
+    }
+
+    private BinaryStorage open() throws IOException {
+        return new BinaryStorage(null, folder.resolve("players.dat").toFile());
+    }
+
+    private static FlightData data(double balance, int level, boolean active) {
+        FlightData data = new FlightData();
+        data.setBalance(balance);
+        data.setMaxUnlockedLevel(level);
+        data.setCooldownEnd(1_000L);
+        data.setFlightActive(active);
+        data.setFlightEndTime(2_000L);
+        data.setPausedTime(3_000L);
+        return data;
+    }
+}
@@ -0,0 +1,55 @@
+package com.flyaway.flycontroller.storage;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class UuidSlotIndexTest {
+
+    @Test
+    void missingKeyReturnsNegative() {
+        UuidSlotIndex index = new UuidSlotIndex(0);
+        assertEquals(-1, index.get(1L, 2L));
+    }
+
+    @Test
+    void putOverwritesExistingSlot() {
+        UuidSlotIndex index = new UuidSlotIndex(0);
+        index.put(1L, 2L, 5);
+        index.put(1L, 2L, 7);
+
+        assertEquals(7, index.get(1L, 2L));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void keysDifferingInOneHalfAreDistinct() {
+        UuidSlotIndex index = new UuidSlotIndex(0);
+        index.put(1L, 2L, 0);
+        index.put(2L, 1L, 1);
+        index.put(1L, 3L, 2);
+
+        assertEquals(0, index.get(1L, 2L));
+        assertEquals(1, index.get(2L, 1L));
+        assertEquals(2, index.get(1L, 3L));
+    }
+
+    @Test
+    void keepsAllKeysAcrossResizes() {
+        UuidSlotIndex index = new UuidSlotIndex(0);
+        Random random = new Random(42);
+        UUID[] ids = new UUID[10_000];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = new UUID(random.nextLong(), random.nextLong());
+            index.put(ids[i].getMostSignificantBits(), ids[i].getLeastSignificantBits(), i);
+        }
+
+        assertEquals(ids.length, index.size());
+        for (int i = 0; i < ids.length; i++) {
+            assertEquals(i, index.get(ids[i].getMostSignificantBits(), ids[i].getLeastSignificantBits()));
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.flyaway.flycontroller.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CommandLabelMatcherTest {
+    private final CommandLabelMatcher matcher = CommandLabelMatcher.of(List.of("fly", "essentials:fly", "EFLY"));
+
+    @Test
+    void matchesFirstLabelOnly() {
+        assertTrue(matcher.matches("/fly"));
+        assertTrue(matcher.matches("/fly on"));
+        assertTrue(matcher.matches("/essentials:fly Steve"));
+        assertFalse(matcher.matches("/spawn fly"));
+    }
+
+    @Test
+    void ignoresCaseSlashAndLeadingWhitespace() {
+        assertTrue(matcher.matches("/FLY"));
+        assertTrue(matcher.matches("fly"));
+        assertTrue(matcher.matches("  /Efly"));
+    }
+
+    @Test
+    void rejectsPrefixesAndLongerLabels() {
+        assertFalse(matcher.matches("/fl"));
+        assertFalse(matcher.matches("/flyspeed"));
+        assertFalse(matcher.matches("/essentials:flyspeed 2"));
+        assertFalse(matcher.matches("/"));
+        assertFalse(matcher.matches(""));
+    }
+
+    @Test
+    void emptyMatcherMatchesNothing() {
+        CommandLabelMatcher empty = CommandLabelMatcher.of(List.of());
+
+        assertFalse(empty.matches("/fly"));
+        assertFalse(empty.matches(""));
+    }
+}
@@ -0,0 +1,125 @@
+package com.flyaway.flycontroller.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DeadlineSchedulerTest {
+    private static final UUID A = new UUID(0, 1);
+    private static final UUID B = new UUID(0, 2);
+    private static final UUID C = new UUID(0, 3);
+
+    @Test
+    void pollsOnlyDueDeadlinesInOrder() {
+        DeadlineScheduler scheduler = new DeadlineScheduler();
+        scheduler.schedule(A, 300);
+        scheduler.schedule(B, 100);
+        scheduler.schedule(C, 200);
+
+        assertNull(scheduler.pollDue(99));
+        assertEquals(B, scheduler.pollDue(250));
+        assertEquals(C, scheduler.pollDue(250));
+        assertNull(scheduler.pollDue(250));
+        assertEquals(A, scheduler.pollDue(300));
+        assertTrue(scheduler.isEmpty());
+    }
+
+    @Test
+    void rescheduleMovesExistingKey() {
+        DeadlineScheduler scheduler = new DeadlineScheduler();
+        scheduler.schedule(A, 100);
+        scheduler.schedule(B, 200);
+
+        scheduler.schedule(A, 300);
+        assertEquals(2, scheduler.size());
+        assertEquals(B, scheduler.pollDue(300));
+
+        scheduler.schedule(C, 250);
+        scheduler.schedule(A, 50);
+        assertEquals(A, scheduler.pollDue(300));
+        assertEquals(C, scheduler.pollDue(300));
+    }
+
+    @Test
+    void cancelRemovesKey() {
+        DeadlineScheduler scheduler = new DeadlineScheduler();
+        scheduler.schedule(A, 100);
+        scheduler.schedule(B, 200);
+
+        assertTrue(scheduler.cancel(A));
+        assertFalse(scheduler.cancel(A));
+        assertEquals(B, scheduler.pollDue(1_000));
+        assertNull(scheduler.pollDue(1_000));
+    }
+
+    @Test
+    void copyKeysReusesBufferAndEndsWithNull() {
+        DeadlineScheduler scheduler = new DeadlineScheduler();
+        scheduler.schedule(A, 100);
+        scheduler.schedule(B, 200);
+        scheduler.schedule(C, 300);
+
+        UUID[] keys = scheduler.copyKeys(null);
+        assertEquals(Set.of(A, B, C), collect(keys));
+
+        scheduler.cancel(B);
+        UUID[] reused = scheduler.copyKeys(keys);
+        assertSame(keys, reused);
+        assertEquals(Set.of(A, C), collect(reused));
+    }
+
+    @Test
+    void matchesReferenceUnderRandomOperations() {
+        DeadlineScheduler scheduler = new DeadlineScheduler();
+        Map<UUID, Long> reference = new HashMap<>();
+        Random random = new Random(7);
+        UUID[] ids = new UUID[200];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = new UUID(0, i);
+        }
+
+        for (int step = 0; step < 50_000; step++) {
+            UUID key = ids[random.nextInt(ids.length)];
+            switch (random.nextInt(4)) {
+                case 0, 1 -> {
+                    long deadline = random.nextInt(1_000);
+                    scheduler.schedule(key, deadline);
+                    reference.put(key, deadline);
+                }
+                case 2 -> assertEquals(reference.remove(key) != null, scheduler.cancel(key));
+                default -> {
+                    long now = random.nextInt(1_000);
+                    long earliest = reference.values().stream().min(Long::compare).orElse(Long.MAX_VALUE);
+                    UUID polled = scheduler.pollDue(now);
+                    if (earliest > now) {
+                        assertNull(polled);
+                    } else {
+                        assertEquals(earliest, (long) reference.remove(polled));
+                    }
+                }
+            }
+        }
+        assertEquals(reference.size(), scheduler.size());
+        assertEquals(reference.keySet(), collect(scheduler.copyKeys(null)));
+    }
+
+    private static Set<UUID> collect(UUID[] keys) {
+        Set<UUID> result = new HashSet<>();
+        for (UUID key : keys) {
+            if (key == null) break;
+            result.add(key);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,129 @@
+package com.flyaway.flycontroller.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LeaderboardIndexTest {
+    private static final UUID A = new UUID(0, 1);
+    private static final UUID B = new UUID(0, 2);
+    private static final UUID C = new UUID(0, 3);
+
+    @Test
+    void ranksByBalanceDescendingThenUuid() {
+        LeaderboardIndex index = new LeaderboardIndex();
+        index.update(C, 100, 1);
+        index.update(A, 50, 1);
+        index.update(B, 100, 2);
+
+        assertEquals(1, index.rankOf(B));
+        assertEquals(2, index.rankOf(C));
+        assertEquals(3, index.rankOf(A));
+        assertEquals(List.of(B, C, A), ids(index.range(0, 10)));
+    }
+
+    @Test
+    void updateMovesAndNonPositiveBalanceRemoves() {
+        LeaderboardIndex index = new LeaderboardIndex();
+        index.update(A, 10, 1);
+        index.update(B, 20, 1);
+
+        index.update(A, 30, 2);
+        assertEquals(1, index.rankOf(A));
+        assertEquals(2, index.get(A).getLevel());
+
+        index.update(A, 0, 0);
+        assertEquals(0, index.rankOf(A));
+        assertNull(index.get(A));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void putIfAbsentKeepsNewerData() {
+        LeaderboardIndex index = new LeaderboardIndex();
+        index.update(A, 10, 1);
+        index.putIfAbsent(A, 99, 5);
+        index.putIfAbsent(B, 5, 1);
+        index.putIfAbsent(C, 0, 0);
+
+        assertEquals(10.0, index.get(A).getBalance());
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void rangeClampsToSize() {
+        LeaderboardIndex index = new LeaderboardIndex();
+        index.update(A, 3, 1);
+        index.update(B, 2, 1);
+        index.update(C, 1, 1);
+
+        assertEquals(List.of(B, C), ids(index.range(1, 10)));
+        assertTrue(index.range(5, 10).isEmpty());
+
+        index.clear();
+        assertEquals(0, index.size());
+        assertTrue(index.range(0, 10).isEmpty());
+    }
+
+    @Test
+    void matchesSortedReferenceUnderRandomOperations() {
+        LeaderboardIndex index = new LeaderboardIndex();
+        Map<UUID, Double> reference = new HashMap<>();
+        Random random = new Random(11);
+        UUID[] ids = new UUID[300];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = new UUID(random.nextLong(), random.nextLong());
+        }
+
+        for (int step = 0; step < 20_000; step++) {
+            UUID playerId = ids[random.nextInt(ids.length)];
+            if (random.nextInt(5) == 0) {
+                index.remove(playerId);
+                reference.remove(playerId);
+            } else {
+                // Небольшой набор значений даёт много равных балансов
+                double balance = random.nextInt(50);
+                index.update(playerId, balance, 1);
+                if (balance > 0) {
+                    reference.put(playerId, balance);
+                } else {
+                    reference.remove(playerId);
+                }
+            }
+
+            if (step % 500 == 0) {
+                assertOrder(index, reference);
+            }
+        }
+        assertOrder(index, reference);
+    }
+
+    private static void assertOrder(LeaderboardIndex index, Map<UUID, Double> reference) {
+        List<UUID> expected = new ArrayList<>(reference.keySet());
+        expected.sort(Comparator.<UUID>comparingDouble(reference::get).reversed().thenComparing(Comparator.naturalOrder()));
+
+        assertEquals(expected.size(), index.size());
+        assertEquals(expected, ids(index.range(0, expected.size())));
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(i + 1, index.rankOf(expected.get(i)));
+        }
+    }
+
+    private static List<UUID> ids(List<LeaderboardIndex.Entry> entries) {
+        List<UUID> ids = new ArrayList<>(entries.size());
+        for (LeaderboardIndex.Entry entry : entries) {
+            ids.add(entry.getPlayerId());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,73 @@
+package com.flyaway.flycontroller.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MessageTemplateTest {
+
+    @Test
+    void rendersPlaceholders() {
+        MessageTemplate template = MessageTemplate.compile("<green>Баланс {balance} {currency}");
+
+        assertEquals("<green>Баланс 150 монет", template.render(Map.of("balance", "150", "currency", "монет")));
+    }
+
+    @Test
+    void keepsUnknownPlaceholdersAndPlainBraces() {
+        MessageTemplate template = MessageTemplate.compile("{known} {unknown} {not a name} {}");
+
+        assertEquals("1 {unknown} {not a name} {}", template.render(Map.of("known", "1")));
+        assertEquals("{known} {unknown} {not a name} {}", template.render(null));
+    }
+
+    @Test
+    void trimsTrailingWhitespace() {
+        assertEquals("text", MessageTemplate.compile("text  \n").render(null));
+        assertEquals("", MessageTemplate.compile(null).render(null));
+    }
+
+    @Test
+    void rendersPairWithoutMap() {
+        MessageTemplate template = MessageTemplate.compile("{minutes}:{seconds} {other}");
+
+        assertEquals("5:07 {other}", template.render("minutes", "5", "seconds", "07"));
+        assertEquals("5:{seconds} {other}", template.render("minutes", "5"));
+    }
+
+    @Test
+    void miniMessageUsesTagsInText() {
+        MessageTemplate template = MessageTemplate.compile("<green>{player}: {missing}");
+
+        assertEquals("<green><player>: {missing}", template.toMiniMessage(Map.of("player", "<red>Steve")));
+    }
+
+    @Test
+    void miniMessageInlinesEscapedValuesInTagArguments() {
+        MessageTemplate template = MessageTemplate.compile(
+                "<click:run_command:'/mfly top {page}'>{page}</click> <hover:show_text:\"{name}\">?</hover>");
+
+        assertEquals("<click:run_command:'/mfly top it\\'s'><page></click> <hover:show_text:\"a\\\"b\">?</hover>",
+                template.toMiniMessage(Map.of("page", "it's", "name", "a\"b")));
+    }
+
+    @Test
+    void miniMessageEscapesValuesWithoutValidTagName() {
+        MessageTemplate template = MessageTemplate.compile("{Name}");
+
+        assertEquals("\\<b>", template.toMiniMessage(Map.of("Name", "<b>")));
+    }
+
+    @Test
+    void tagNames() {
+        assertTrue(MessageTemplate.isTagName("speed_level"));
+        assertTrue(MessageTemplate.isTagName("a-1"));
+        assertFalse(MessageTemplate.isTagName("Name"));
+        assertFalse(MessageTemplate.isTagName("a.b"));
+        assertFalse(MessageTemplate.isTagName(""));
+    }
+}
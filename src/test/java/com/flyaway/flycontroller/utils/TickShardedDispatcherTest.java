@@ -0,0 +1,95 @@
+package com.flyaway.flycontroller.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TickShardedDispatcherTest {
+    private static final int BUCKETS = 4;
+
+    @Test
+    void handlesEveryPlayerOncePerCycle() {
+        List<UUID> handled = new ArrayList<>();
+        TickShardedDispatcher dispatcher = new TickShardedDispatcher(BUCKETS, handled::add);
+        Set<UUID> players = players(100);
+        players.forEach(dispatcher::add);
+
+        for (int i = 0; i < BUCKETS; i++) {
+            dispatcher.tick(plenty());
+        }
+
+        assertEquals(players.size(), handled.size());
+        assertEquals(players, new HashSet<>(handled));
+    }
+
+    @Test
+    void carriesOverBudgetPlayersToNextTick() {
+        List<UUID> handled = new ArrayList<>();
+        TickShardedDispatcher dispatcher = new TickShardedDispatcher(1, handled::add);
+        Set<UUID> players = players(10);
+        players.forEach(dispatcher::add);
+
+        dispatcher.tick(exhausted());
+        assertTrue(handled.isEmpty());
+
+        dispatcher.tick(plenty());
+        // Перенесённые обрабатываются первыми, затем корзина этого тика
+        assertEquals(players, new HashSet<>(handled.subList(0, players.size())));
+        assertEquals(players.size() * 2, handled.size());
+    }
+
+    @Test
+    void removedPlayerIsDroppedFromCarry() {
+        List<UUID> handled = new ArrayList<>();
+        TickShardedDispatcher dispatcher = new TickShardedDispatcher(1, handled::add);
+        UUID kept = new UUID(0, 1);
+        UUID removed = new UUID(0, 2);
+        dispatcher.add(kept);
+        dispatcher.add(removed);
+
+        dispatcher.tick(exhausted());
+        dispatcher.remove(removed);
+        dispatcher.tick(plenty());
+
+        assertTrue(handled.contains(kept));
+        assertFalse(handled.contains(removed));
+    }
+
+    @Test
+    void clearDropsEverything() {
+        List<UUID> handled = new ArrayList<>();
+        TickShardedDispatcher dispatcher = new TickShardedDispatcher(1, handled::add);
+        players(5).forEach(dispatcher::add);
+
+        dispatcher.tick(exhausted());
+        dispatcher.clear();
+        dispatcher.tick(plenty());
+
+        assertTrue(handled.isEmpty());
+    }
+
+    private static Set<UUID> players(int count) {
+        Set<UUID> players = new HashSet<>();
+        for (int i = 0; i < count; i++) {
+            players.add(new UUID(i * 31L, i));
+        }
+        return players;
+    }
+
+    private static long plenty() {
+        return System.nanoTime() + TimeUnit.MINUTES.toNanos(1);
+    }
+
+    private static long exhausted() {
+        return System.nanoTime() - 1;
+    }
+}
@@ -0,0 +1,68 @@
+package com.flyaway.flycontroller.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WorldMatcherTest {
+
+    @Test
+    void emptyListAllowsAll() {
+        WorldMatcher matcher = WorldMatcher.compile(List.of(), entry -> {});
+
+        assertTrue(matcher.allowsAll());
+        assertTrue(matcher.matches("anything"));
+    }
+
+    @Test
+    void exactNamesAreCaseSensitive() {
+        WorldMatcher matcher = WorldMatcher.compile(List.of("world"), entry -> {});
+
+        assertFalse(matcher.allowsAll());
+        assertTrue(matcher.matches("world"));
+        assertFalse(matcher.matches("World"));
+        assertFalse(matcher.matches("world_nether"));
+    }
+
+    @Test
+    void globsMatchWholeName() {
+        WorldMatcher matcher = WorldMatcher.compile(List.of("resource_*", "arena?"), entry -> {});
+
+        assertTrue(matcher.matches("resource_"));
+        assertTrue(matcher.matches("resource_2024"));
+        assertTrue(matcher.matches("arena1"));
+        assertFalse(matcher.matches("arena12"));
+        assertFalse(matcher.matches("old_resource_1"));
+    }
+
+    @Test
+    void globQuotesRegexCharacters() {
+        WorldMatcher matcher = WorldMatcher.compile(List.of("w.(1)*"), entry -> {});
+
+        assertTrue(matcher.matches("w.(1)x"));
+        assertFalse(matcher.matches("wx(1)x"));
+    }
+
+    @Test
+    void regexEntries() {
+        WorldMatcher matcher = WorldMatcher.compile(List.of("regex:dungeon_\\d+"), entry -> {});
+
+        assertTrue(matcher.matches("dungeon_12"));
+        assertFalse(matcher.matches("dungeon_x"));
+    }
+
+    @Test
+    void invalidRegexIsReportedAndSkipped() {
+        List<String> invalid = new ArrayList<>();
+        WorldMatcher matcher = WorldMatcher.compile(List.of("regex:[", "world"), invalid::add);
+
+        assertEquals(List.of("regex:["), invalid);
+        assertTrue(matcher.matches("world"));
+        assertFalse(matcher.matches("["));
+    }
+}